@@ -0,0 +1,22 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmhImplementation(rootProject)
+    jmhImplementation(libs.gson)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    // report the allocation rate next to the timings, equal to running with '-prof gc'
+    profilers = listOf("gc")
+    // run a subset using e.g. -PjmhIncludes=Serialization
+    findProperty("jmhIncludes")?.let { includes = listOf(it.toString()) }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.benchmark;
+
+import org.geysermc.cumulus.form.CustomForm;
+import org.geysermc.cumulus.form.ModalForm;
+import org.geysermc.cumulus.form.SimpleForm;
+import org.geysermc.cumulus.util.FormImage;
+
+/** Creates the forms and client responses that are used by the benchmarks. */
+final class BenchmarkForms {
+  private BenchmarkForms() {}
+
+  static SimpleForm simpleForm(int buttons) {
+    SimpleForm.Builder builder = SimpleForm.builder().title("Shop").content("Pick an item");
+    for (int i = 0; i < buttons; i++) {
+      if (i % 2 == 0) {
+        builder.button("Item " + i, FormImage.Type.PATH, "textures/items/item_" + i + ".png");
+      } else {
+        builder.button("Item " + i);
+      }
+    }
+    return builder.build();
+  }
+
+  static String simpleFormResponse(int buttons) {
+    return Integer.toString(buttons - 1);
+  }
+
+  static ModalForm modalForm() {
+    return ModalForm.builder()
+        .title("Confirm")
+        .content("Are you sure you want to buy this item?")
+        .button1("Yes")
+        .button2("No")
+        .build();
+  }
+
+  static CustomForm customForm(int components) {
+    return customForm(components, false);
+  }
+
+  /** Creates a custom form that cycles through every component type. */
+  static CustomForm customForm(int components, boolean cacheJsonData) {
+    CustomForm.Builder builder =
+        CustomForm.builder().title("Settings").iconPath("icon.png").cacheJsonData(cacheJsonData);
+    for (int i = 0; i < components; i++) {
+      switch (i % 6) {
+        case 0:
+          builder.label("Label " + i);
+          break;
+        case 1:
+          builder.input("Input " + i, "placeholder", "default");
+          break;
+        case 2:
+          builder.toggle("Toggle " + i, true);
+          break;
+        case 3:
+          builder.slider("Slider " + i, 0, 100, 0.5f, 50);
+          break;
+        case 4:
+          builder.dropdown("Dropdown " + i, "First", "Second", "Third");
+          break;
+        default:
+          builder.stepSlider("Step slider " + i, "Low", "Medium", "High");
+      }
+    }
+    return builder.build();
+  }
+
+  /** Creates a valid client response for {@link #customForm(int)}. */
+  static String customFormResponse(int components) {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < components; i++) {
+      if (i > 0) {
+        builder.append(',');
+      }
+      switch (i % 6) {
+        case 0:
+          builder.append("null");
+          break;
+        case 1:
+          builder.append("\"some \\\"input\\\" text\"");
+          break;
+        case 2:
+          builder.append("false");
+          break;
+        case 3:
+          builder.append("42.5");
+          break;
+        default:
+          builder.append(i % 3);
+      }
+    }
+    return builder.append("]\n").toString();
+  }
+}
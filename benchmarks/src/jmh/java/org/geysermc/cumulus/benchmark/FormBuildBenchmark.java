@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.geysermc.cumulus.form.CustomForm;
+import org.geysermc.cumulus.form.SimpleForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormBuildBenchmark {
+  @Param({"1", "10", "100", "500"})
+  public int size;
+
+  @Benchmark
+  public SimpleForm simpleForm() {
+    return BenchmarkForms.simpleForm(size);
+  }
+
+  @Benchmark
+  public CustomForm customForm() {
+    return BenchmarkForms.customForm(size);
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.geysermc.cumulus.form.CustomForm;
+import org.geysermc.cumulus.form.SimpleForm;
+import org.geysermc.cumulus.form.impl.custom.CustomFormDefinition;
+import org.geysermc.cumulus.form.impl.simple.SimpleFormDefinition;
+import org.geysermc.cumulus.form.util.FormCodec;
+import org.geysermc.cumulus.response.CustomFormResponse;
+import org.geysermc.cumulus.response.SimpleFormResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormSerializationBenchmark {
+  @Param({"1", "10", "100", "500"})
+  public int size;
+
+  private FormCodec<SimpleForm, SimpleFormResponse> simpleCodec;
+  private FormCodec<CustomForm, CustomFormResponse> customCodec;
+
+  private SimpleForm simpleForm;
+  private CustomForm customForm;
+  private CustomForm cachedCustomForm;
+
+  @Setup
+  public void setup() {
+    simpleCodec = SimpleFormDefinition.instance().codec();
+    customCodec = CustomFormDefinition.instance().codec();
+
+    simpleForm = BenchmarkForms.simpleForm(size);
+    customForm = BenchmarkForms.customForm(size);
+    cachedCustomForm = BenchmarkForms.customForm(size, true);
+  }
+
+  @Benchmark
+  public String simpleForm() {
+    return simpleCodec.jsonData(simpleForm);
+  }
+
+  @Benchmark
+  public String customForm() {
+    return customCodec.jsonData(customForm);
+  }
+
+  @Benchmark
+  public String cachedCustomForm() {
+    return customCodec.jsonData(cachedCustomForm);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.geysermc.cumulus.Forms;
+import org.geysermc.cumulus.form.CustomForm;
+import org.geysermc.cumulus.form.SimpleForm;
+import org.geysermc.cumulus.form.impl.custom.CustomFormDefinition;
+import org.geysermc.cumulus.form.impl.simple.SimpleFormDefinition;
+import org.geysermc.cumulus.form.util.FormType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures reading the form json back into a form instance and serializing it again. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FromJsonBenchmark {
+  @Param({"1", "10", "100", "500"})
+  public int size;
+
+  private String simpleFormJson;
+  private String customFormJson;
+
+  @Setup
+  public void setup() {
+    simpleFormJson =
+        SimpleFormDefinition.instance().codec().jsonData(BenchmarkForms.simpleForm(size));
+    customFormJson =
+        CustomFormDefinition.instance().codec().jsonData(BenchmarkForms.customForm(size));
+  }
+
+  @Benchmark
+  public String simpleFormRoundTrip() {
+    SimpleForm form = Forms.fromJson(simpleFormJson, FormType.SIMPLE_FORM, null);
+    return SimpleFormDefinition.instance().codec().jsonData(form);
+  }
+
+  @Benchmark
+  public String customFormRoundTrip() {
+    CustomForm form = Forms.fromJson(customFormJson, FormType.CUSTOM_FORM, null);
+    return CustomFormDefinition.instance().codec().jsonData(form);
+  }
+}
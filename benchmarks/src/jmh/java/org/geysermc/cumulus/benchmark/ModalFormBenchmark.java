@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.geysermc.cumulus.form.ModalForm;
+import org.geysermc.cumulus.form.impl.modal.ModalFormDefinition;
+import org.geysermc.cumulus.form.util.FormCodec;
+import org.geysermc.cumulus.response.ModalFormResponse;
+import org.geysermc.cumulus.response.result.FormResponseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Modal forms always have the same shape, so unlike the other benchmarks this has no size. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModalFormBenchmark {
+  private FormCodec<ModalForm, ModalFormResponse> codec;
+  private ModalForm form;
+
+  @Setup
+  public void setup() {
+    codec = ModalFormDefinition.instance().codec();
+    form = BenchmarkForms.modalForm();
+  }
+
+  @Benchmark
+  public ModalForm build() {
+    return BenchmarkForms.modalForm();
+  }
+
+  @Benchmark
+  public String serialize() {
+    return codec.jsonData(form);
+  }
+
+  @Benchmark
+  public FormResponseResult<ModalFormResponse> parseResponse() {
+    return codec.deserializeFormResponse(form, "false\n");
+  }
+}
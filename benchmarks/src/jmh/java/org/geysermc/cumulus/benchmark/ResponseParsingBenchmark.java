@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.geysermc.cumulus.form.CustomForm;
+import org.geysermc.cumulus.form.SimpleForm;
+import org.geysermc.cumulus.form.impl.custom.CustomFormDefinition;
+import org.geysermc.cumulus.form.impl.simple.SimpleFormDefinition;
+import org.geysermc.cumulus.form.util.FormCodec;
+import org.geysermc.cumulus.response.CustomFormResponse;
+import org.geysermc.cumulus.response.SimpleFormResponse;
+import org.geysermc.cumulus.response.result.FormResponseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+  @Param({"1", "10", "100", "500"})
+  public int size;
+
+  private FormCodec<SimpleForm, SimpleFormResponse> simpleCodec;
+  private FormCodec<CustomForm, CustomFormResponse> customCodec;
+
+  private SimpleForm simpleForm;
+  private String simpleResponse;
+  private CustomForm customForm;
+  private String customResponse;
+  private String invalidCustomResponse;
+
+  @Setup
+  public void setup() {
+    simpleCodec = SimpleFormDefinition.instance().codec();
+    customCodec = CustomFormDefinition.instance().codec();
+
+    simpleForm = BenchmarkForms.simpleForm(size);
+    simpleResponse = BenchmarkForms.simpleFormResponse(size);
+    customForm = BenchmarkForms.customForm(size);
+    customResponse = BenchmarkForms.customFormResponse(size);
+    // one component short
+    invalidCustomResponse = BenchmarkForms.customFormResponse(size - 1);
+  }
+
+  @Benchmark
+  public FormResponseResult<SimpleFormResponse> simpleForm() {
+    return simpleCodec.deserializeFormResponse(simpleForm, simpleResponse);
+  }
+
+  @Benchmark
+  public FormResponseResult<CustomFormResponse> customForm() {
+    return customCodec.deserializeFormResponse(customForm, customResponse);
+  }
+
+  @Benchmark
+  public FormResponseResult<CustomFormResponse> invalidCustomForm() {
+    return customCodec.deserializeFormResponse(customForm, invalidCustomResponse);
+  }
+}
@@ -28,6 +28,7 @@ import java.util.function.BiConsumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.component.Component;
+import org.geysermc.cumulus.component.impl.ComponentValidators;
 import org.geysermc.cumulus.component.impl.DropdownComponentImpl;
 import org.geysermc.cumulus.component.impl.InputComponentImpl;
 import org.geysermc.cumulus.component.impl.LabelComponentImpl;
@@ -35,11 +36,13 @@ import org.geysermc.cumulus.component.impl.SliderComponentImpl;
 import org.geysermc.cumulus.component.impl.StepSliderComponentImpl;
 import org.geysermc.cumulus.component.impl.ToggleComponentImpl;
 import org.geysermc.cumulus.component.util.ComponentType;
+import org.geysermc.cumulus.component.util.ComponentValidator;
 import org.geysermc.cumulus.form.Form;
 import org.geysermc.cumulus.form.impl.FormDefinitions;
 import org.geysermc.cumulus.form.util.FormCodec;
 import org.geysermc.cumulus.form.util.FormType;
 import org.geysermc.cumulus.response.FormResponse;
+import org.geysermc.cumulus.util.impl.InternPool;
 
 public final class Forms {
   /**
@@ -57,6 +60,53 @@ public final class Forms {
         .fromJson(json, responseHandler);
   }
 
+  /**
+   * Initializes every registered form type by serializing a form, parsing it back and parsing a
+   * response to it. Calling this during startup prevents the first forms that are sent from being
+   * slower than the rest.
+   *
+   * @since 2.0
+   */
+  public static void warmUp() {
+    FormDefinitions.instance().warmUp();
+  }
+
+  /**
+   * Enables interning of buttons, images and the components without options (labels, inputs,
+   * sliders and toggles). When enabled, their factory methods (e.g. {@link
+   * org.geysermc.cumulus.component.ButtonComponent#of(String)}) return an existing equal instance
+   * when there is one, which lowers memory usage when the same menus are built for many players.
+   * The pool is weak, so unused instances can still be garbage collected.
+   *
+   * @param maxSize the max amount of instances to keep track of
+   * @since 2.0
+   */
+  public static void enableInterning(int maxSize) {
+    InternPool.enable(maxSize);
+  }
+
+  /**
+   * Disables interning of components and images, and clears the instances that have been pooled.
+   *
+   * @since 2.0
+   */
+  public static void disableInterning() {
+    InternPool.disable();
+  }
+
+  /**
+   * Replaces the validator that validates the values the client sends for components of the given
+   * type. The validator is only given components of the given type.
+   *
+   * @param type the component type to validate
+   * @param validator the validator to use
+   * @since 2.0
+   */
+  public static void registerComponentValidator(
+      @NonNull ComponentType type, @NonNull ComponentValidator<?> validator) {
+    ComponentValidators.register(type, validator);
+  }
+
   /**
    * Get the class implementing the component by the component type.
    *
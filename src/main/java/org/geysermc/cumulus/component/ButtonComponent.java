@@ -28,6 +28,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.component.impl.ButtonComponentImpl;
 import org.geysermc.cumulus.util.FormImage;
+import org.geysermc.cumulus.util.impl.InternPool;
 
 /**
  * Button component is a component that can only be used in SimpleForm. With this component you can
@@ -35,12 +36,12 @@ import org.geysermc.cumulus.util.FormImage;
  */
 public interface ButtonComponent {
   static @NonNull ButtonComponent of(@NonNull String text, @Nullable FormImage image) {
-    return new ButtonComponentImpl(text, image);
+    return InternPool.intern(new ButtonComponentImpl(text, image));
   }
 
   static @NonNull ButtonComponent of(
       @NonNull String text, FormImage.@NonNull Type type, @NonNull String data) {
-    return new ButtonComponentImpl(text, FormImage.of(type, data));
+    return of(text, FormImage.of(type, data));
   }
 
   static @NonNull ButtonComponent of(@NonNull String text) {
@@ -26,6 +26,7 @@ package org.geysermc.cumulus.component;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.cumulus.component.impl.InputComponentImpl;
+import org.geysermc.cumulus.util.impl.InternPool;
 
 /**
  * Input component is a component that can only be used in CustomForm. With this component you can
@@ -34,7 +35,7 @@ import org.geysermc.cumulus.component.impl.InputComponentImpl;
 public interface InputComponent extends Component {
   static @NonNull InputComponent of(
       @NonNull String text, @NonNull String placeholder, @NonNull String defaultText) {
-    return new InputComponentImpl(text, placeholder, defaultText);
+    return InternPool.intern(new InputComponentImpl(text, placeholder, defaultText));
   }
 
   static @NonNull InputComponent of(@NonNull String text, @NonNull String placeholder) {
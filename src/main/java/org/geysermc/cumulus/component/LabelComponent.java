@@ -26,6 +26,7 @@ package org.geysermc.cumulus.component;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.cumulus.component.impl.LabelComponentImpl;
+import org.geysermc.cumulus.util.impl.InternPool;
 
 /**
  * The label component is a component that can only be used in CustomForm. This component is just a
@@ -33,6 +34,6 @@ import org.geysermc.cumulus.component.impl.LabelComponentImpl;
  */
 public interface LabelComponent extends Component {
   static @NonNull LabelComponent of(@NonNull String text) {
-    return new LabelComponentImpl(text);
+    return InternPool.intern(new LabelComponentImpl(text));
   }
 }
@@ -27,6 +27,7 @@ package org.geysermc.cumulus.component;
 import org.checkerframework.checker.index.qual.Positive;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.cumulus.component.impl.SliderComponentImpl;
+import org.geysermc.cumulus.util.impl.InternPool;
 
 /**
  * Slider component is a component that can only be used in CustomForm. With this component you can
@@ -39,12 +40,12 @@ import org.geysermc.cumulus.component.impl.SliderComponentImpl;
 public interface SliderComponent extends Component {
   static @NonNull SliderComponent of(
       @NonNull String text, float min, float max, @Positive float step, float defaultValue) {
-    return new SliderComponentImpl(text, min, max, step, defaultValue);
+    return InternPool.intern(new SliderComponentImpl(text, min, max, step, defaultValue));
   }
 
   static @NonNull SliderComponent of(
       @NonNull String text, float min, float max, @Positive float step) {
-    return new SliderComponentImpl(text, min, max, step);
+    return InternPool.intern(new SliderComponentImpl(text, min, max, step));
   }
 
   static @NonNull SliderComponent of(@NonNull String text, float min, float max) {
@@ -26,6 +26,7 @@ package org.geysermc.cumulus.component;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.cumulus.component.impl.ToggleComponentImpl;
+import org.geysermc.cumulus.util.impl.InternPool;
 
 /**
  * Toggle component is a component that can only be used in CustomForm. With this component you can
@@ -33,7 +34,7 @@ import org.geysermc.cumulus.component.impl.ToggleComponentImpl;
  */
 public interface ToggleComponent extends Component {
   static @NonNull ToggleComponent of(@NonNull String text, boolean defaultValue) {
-    return new ToggleComponentImpl(text, defaultValue);
+    return InternPool.intern(new ToggleComponentImpl(text, defaultValue));
   }
 
   static @NonNull ToggleComponent of(@NonNull String text) {
@@ -34,6 +34,9 @@ public final class ButtonComponentImpl implements ButtonComponent {
   private final String text;
   private final FormImage image;
 
+  /** The serialized form of this button, see {@link ComponentWriter}. */
+  String jsonFragment;
+
   public ButtonComponentImpl(@NonNull String text, @Nullable FormImage image) {
     this.text = Objects.requireNonNull(text, "text");
     this.image = image;
@@ -48,4 +51,21 @@ public final class ButtonComponentImpl implements ButtonComponent {
   public @Nullable FormImage image() {
     return image;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ButtonComponentImpl that = (ButtonComponentImpl) o;
+    return text.equals(that.text) && Objects.equals(image, that.image);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * text.hashCode() + Objects.hashCode(image);
+  }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.component.impl;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.geysermc.cumulus.component.ButtonComponent;
+import org.geysermc.cumulus.component.Component;
+import org.geysermc.cumulus.util.FormImage;
+import org.geysermc.cumulus.util.impl.FormImageAdaptor;
+import org.geysermc.cumulus.util.impl.FormImageImpl;
+
+/**
+ * Hand-written Gson type adapters for the component implementations, so that Gson doesn't have to
+ * (de)serialize them reflectively. Writing is delegated to {@link ComponentWriter}, reading creates
+ * the components through their constructors. Members that are not present use the same default
+ * values as the component builders.
+ */
+public final class ComponentAdapters {
+  private ComponentAdapters() {}
+
+  public static void register(@NonNull GsonBuilder builder) {
+    FormImageAdaptor imageAdaptor = new FormImageAdaptor();
+    builder.registerTypeAdapter(FormImage.class, imageAdaptor);
+    builder.registerTypeAdapter(FormImageImpl.class, imageAdaptor);
+
+    builder.registerTypeAdapter(ButtonComponentImpl.class, new ButtonAdapter(imageAdaptor));
+    builder.registerTypeAdapter(DropdownComponentImpl.class, new DropdownAdapter());
+    builder.registerTypeAdapter(InputComponentImpl.class, new InputAdapter());
+    builder.registerTypeAdapter(LabelComponentImpl.class, new LabelAdapter());
+    builder.registerTypeAdapter(SliderComponentImpl.class, new SliderAdapter());
+    builder.registerTypeAdapter(StepSliderComponentImpl.class, new StepSliderAdapter());
+    builder.registerTypeAdapter(ToggleComponentImpl.class, new ToggleAdapter());
+  }
+
+  private static final class ButtonAdapter extends TypeAdapter<ButtonComponent> {
+    private final FormImageAdaptor imageAdaptor;
+
+    ButtonAdapter(FormImageAdaptor imageAdaptor) {
+      this.imageAdaptor = imageAdaptor;
+    }
+
+    @Override
+    public void write(JsonWriter out, ButtonComponent button) throws IOException {
+      if (button == null) {
+        out.nullValue();
+        return;
+      }
+      ComponentWriter.writeButton(out, button);
+    }
+
+    @Override
+    public ButtonComponent read(JsonReader in) throws IOException {
+      if (isNull(in)) {
+        return null;
+      }
+
+      String text = null;
+      FormImage image = null;
+
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "text":
+            text = in.nextString();
+            break;
+          case "image":
+            image = imageAdaptor.read(in);
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+
+      return new ButtonComponentImpl(requireMember(text, "text"), image);
+    }
+  }
+
+  /** The base of the adapters of components that extend {@link ComponentImpl}. */
+  private abstract static class ComponentAdapter<T extends Component> extends TypeAdapter<T> {
+    @Override
+    public final void write(JsonWriter out, T component) throws IOException {
+      if (component == null) {
+        out.nullValue();
+        return;
+      }
+      ComponentWriter.writeComponent(out, component);
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+      if (isNull(in)) {
+        return null;
+      }
+      try {
+        return readComponent(in);
+      } catch (IllegalArgumentException exception) {
+        // the constructors reject invalid values, which are reported like any other invalid json
+        throw new JsonParseException(exception.getMessage(), exception);
+      }
+    }
+
+    /** Reads the component, which is created through its constructor so that it's validated. */
+    abstract T readComponent(JsonReader in) throws IOException;
+  }
+
+  private static final class DropdownAdapter extends ComponentAdapter<DropdownComponentImpl> {
+    @Override
+    DropdownComponentImpl readComponent(JsonReader in) throws IOException {
+      String text = null;
+      List<String> options = new ArrayList<>();
+      int defaultOption = 0;
+
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "text":
+            text = in.nextString();
+            break;
+          case "options":
+            options = readStrings(in);
+            break;
+          case "default":
+            defaultOption = in.nextInt();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+
+      return new DropdownComponentImpl(requireMember(text, "text"), options, defaultOption);
+    }
+  }
+
+  private static final class InputAdapter extends ComponentAdapter<InputComponentImpl> {
+    @Override
+    InputComponentImpl readComponent(JsonReader in) throws IOException {
+      String text = null;
+      String placeholder = "";
+      String defaultText = "";
+
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "text":
+            text = in.nextString();
+            break;
+          case "placeholder":
+            placeholder = in.nextString();
+            break;
+          case "default":
+            defaultText = in.nextString();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+
+      return new InputComponentImpl(requireMember(text, "text"), placeholder, defaultText);
+    }
+  }
+
+  private static final class LabelAdapter extends ComponentAdapter<LabelComponentImpl> {
+    @Override
+    LabelComponentImpl readComponent(JsonReader in) throws IOException {
+      String text = null;
+
+      in.beginObject();
+      while (in.hasNext()) {
+        if ("text".equals(in.nextName())) {
+          text = in.nextString();
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+
+      return new LabelComponentImpl(requireMember(text, "text"));
+    }
+  }
+
+  private static final class SliderAdapter extends ComponentAdapter<SliderComponentImpl> {
+    @Override
+    SliderComponentImpl readComponent(JsonReader in) throws IOException {
+      String text = null;
+      Float min = null;
+      Float max = null;
+      Float step = null;
+      Float defaultValue = null;
+
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "text":
+            text = in.nextString();
+            break;
+          case "min":
+            min = (float) in.nextDouble();
+            break;
+          case "max":
+            max = (float) in.nextDouble();
+            break;
+          case "step":
+            step = (float) in.nextDouble();
+            break;
+          case "default":
+            defaultValue = (float) in.nextDouble();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+
+      text = requireMember(text, "text");
+      min = requireMember(min, "min");
+      max = requireMember(max, "max");
+      step = requireMember(step, "step");
+
+      if (defaultValue == null) {
+        return new SliderComponentImpl(text, min, max, step);
+      }
+      return new SliderComponentImpl(text, min, max, step, defaultValue);
+    }
+  }
+
+  private static final class StepSliderAdapter extends ComponentAdapter<StepSliderComponentImpl> {
+    @Override
+    StepSliderComponentImpl readComponent(JsonReader in) throws IOException {
+      String text = null;
+      List<String> steps = new ArrayList<>();
+      int defaultStep = 0;
+
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "text":
+            text = in.nextString();
+            break;
+          case "steps":
+            steps = readStrings(in);
+            break;
+          case "default":
+            defaultStep = in.nextInt();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+
+      return new StepSliderComponentImpl(requireMember(text, "text"), steps, defaultStep);
+    }
+  }
+
+  private static final class ToggleAdapter extends ComponentAdapter<ToggleComponentImpl> {
+    @Override
+    ToggleComponentImpl readComponent(JsonReader in) throws IOException {
+      String text = null;
+      boolean defaultValue = false;
+
+      in.beginObject();
+      while (in.hasNext()) {
+        switch (in.nextName()) {
+          case "text":
+            text = in.nextString();
+            break;
+          case "default":
+            defaultValue = in.nextBoolean();
+            break;
+          default:
+            in.skipValue();
+        }
+      }
+      in.endObject();
+
+      return new ToggleComponentImpl(requireMember(text, "text"), defaultValue);
+    }
+  }
+
+  private static boolean isNull(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return true;
+    }
+    return false;
+  }
+
+  private static List<String> readStrings(JsonReader in) throws IOException {
+    List<String> values = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      values.add(in.nextString());
+    }
+    in.endArray();
+    return values;
+  }
+
+  private static <T> T requireMember(T value, String memberName) {
+    if (value == null) {
+      throw new JsonParseException(
+          "Expected to find a member named '" + memberName + "' in the JsonObject!");
+    }
+    return value;
+  }
+}
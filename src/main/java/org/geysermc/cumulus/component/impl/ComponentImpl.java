@@ -33,6 +33,9 @@ public abstract class ComponentImpl implements Component {
   private final ComponentType type;
   private final String text;
 
+  /** The serialized form of this component, see {@link ComponentWriter}. */
+  String jsonFragment;
+
   ComponentImpl(@NonNull ComponentType type, @NonNull String text) {
     this.type = Objects.requireNonNull(type, "type");
     this.text = Objects.requireNonNull(text, "text");
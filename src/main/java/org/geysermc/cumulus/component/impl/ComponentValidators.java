@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.component.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.cumulus.component.Component;
+import org.geysermc.cumulus.component.DropdownComponent;
+import org.geysermc.cumulus.component.SliderComponent;
+import org.geysermc.cumulus.component.StepSliderComponent;
+import org.geysermc.cumulus.component.util.ComponentType;
+import org.geysermc.cumulus.component.util.ComponentValidator;
+import org.geysermc.cumulus.component.util.ComponentValidator.Value;
+import org.geysermc.cumulus.component.util.ComponentValidator.ValueSink;
+import org.geysermc.cumulus.component.util.ComponentValidator.ValueType;
+
+/**
+ * The registry of the {@link ComponentValidator} of every component type. Validators are looked up
+ * by the ordinal of the component type, and registering a validator replaces the array so that
+ * lookups don't need any synchronization.
+ */
+public final class ComponentValidators {
+  /**
+   * The allowed difference between a slider value and the nearest step, in steps. This is on top
+   * of the rounding errors of the floats that are involved, since those are rarely exactly on a
+   * step.
+   */
+  private static final double STEP_TOLERANCE = 1e-3;
+
+  private static volatile ComponentValidator<?>[] validators = defaultValidators();
+
+  private ComponentValidators() {}
+
+  /** Returns the validator that is used for components of the given type. */
+  @SuppressWarnings("unchecked")
+  public static @NonNull ComponentValidator<Component> validatorFor(@NonNull ComponentType type) {
+    return (ComponentValidator<Component>) validators[type.ordinal()];
+  }
+
+  /** Replaces the validator of the given component type. */
+  public static synchronized void register(
+      @NonNull ComponentType type, @NonNull ComponentValidator<?> validator) {
+    Objects.requireNonNull(type, "type");
+    Objects.requireNonNull(validator, "validator");
+
+    ComponentValidator<?>[] updated = Arrays.copyOf(validators, validators.length);
+    updated[type.ordinal()] = validator;
+    validators = updated;
+  }
+
+  private static ComponentValidator<?>[] defaultValidators() {
+    ComponentValidator<?>[] validators = new ComponentValidator<?>[ComponentType.values().length];
+    validators[ComponentType.DROPDOWN.ordinal()] =
+        (ComponentValidator<DropdownComponent>) ComponentValidators::validateDropdown;
+    validators[ComponentType.INPUT.ordinal()] = ComponentValidators::validateInput;
+    validators[ComponentType.LABEL.ordinal()] = ComponentValidators::validateLabel;
+    validators[ComponentType.SLIDER.ordinal()] =
+        (ComponentValidator<SliderComponent>) ComponentValidators::validateSlider;
+    validators[ComponentType.STEP_SLIDER.ordinal()] =
+        (ComponentValidator<StepSliderComponent>) ComponentValidators::validateStepSlider;
+    validators[ComponentType.TOGGLE.ordinal()] = ComponentValidators::validateToggle;
+    return validators;
+  }
+
+  private static @Nullable String validateDropdown(
+      DropdownComponent component, Value value, ValueSink response) {
+    if (value.type() != ValueType.NUMBER || !value.isInt()) {
+      return "Return value of dropdown should be an integer";
+    }
+    int option = value.intValue();
+    if (option < 0 || option >= component.options().size()) {
+      return "Return value of dropdown is not a valid option";
+    }
+    response.intValue(option);
+    return null;
+  }
+
+  private static @Nullable String validateInput(
+      Component component, Value value, ValueSink response) {
+    if (value.type() != ValueType.STRING) {
+      return "Return value of input should be a string";
+    }
+    response.stringValue(value.stringValue());
+    return null;
+  }
+
+  private static @Nullable String validateLabel(
+      Component component, Value value, ValueSink response) {
+    if (value.type() != ValueType.NULL) {
+      return "Return value of label should be null";
+    }
+    response.label();
+    return null;
+  }
+
+  private static @Nullable String validateSlider(
+      SliderComponent component, Value value, ValueSink response) {
+    if (value.type() != ValueType.NUMBER) {
+      return "Return value of slider should be a float";
+    }
+    float slider = value.floatValue();
+    // the client sends the default value as is, even when it isn't on a step
+    if (slider != component.defaultValue()) {
+      if (!(slider >= component.minValue() && slider <= component.maxValue())) {
+        return "Return value of slider is out of range";
+      }
+
+      if (!isOnStep(slider, component.minValue(), component.step())) {
+        return "Return value of slider doesn't match the step";
+      }
+    }
+    response.floatValue(slider);
+    return null;
+  }
+
+  private static boolean isOnStep(float value, float min, float step) {
+    double steps = (value - (double) min) / step;
+    double tolerance =
+        STEP_TOLERANCE
+            + (Math.ulp(value) + Math.ulp(min)) / step
+            + Math.abs(steps) * Math.ulp(step) / step;
+    return Math.abs(steps - Math.rint(steps)) <= tolerance;
+  }
+
+  private static @Nullable String validateStepSlider(
+      StepSliderComponent component, Value value, ValueSink response) {
+    if (value.type() != ValueType.NUMBER || !value.isInt()) {
+      return "Return value of step slider should be an integer";
+    }
+    int step = value.intValue();
+    if (step < 0 || step >= component.steps().size()) {
+      return "Return value of step slider is not a valid step";
+    }
+    response.intValue(step);
+    return null;
+  }
+
+  private static @Nullable String validateToggle(
+      Component component, Value value, ValueSink response) {
+    if (value.type() != ValueType.BOOLEAN) {
+      return "Return value of toggle should be a boolean";
+    }
+    response.booleanValue(value.booleanValue());
+    return null;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.component.impl;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.cumulus.component.ButtonComponent;
+import org.geysermc.cumulus.component.Component;
+import org.geysermc.cumulus.component.DropdownComponent;
+import org.geysermc.cumulus.component.InputComponent;
+import org.geysermc.cumulus.component.SliderComponent;
+import org.geysermc.cumulus.component.StepSliderComponent;
+import org.geysermc.cumulus.component.ToggleComponent;
+import org.geysermc.cumulus.util.impl.FormImageAdaptor;
+import org.geysermc.cumulus.util.impl.FragmentJsonWriter;
+
+/**
+ * Writes components directly to a {@link JsonWriter}. The order of the members matches the order
+ * Gson used to produce when serializing the component implementations reflectively (fields of the
+ * implementation first, followed by the fields of {@link ComponentImpl}).
+ */
+public final class ComponentWriter {
+  private ComponentWriter() {}
+
+  /** Writes the given buttons as an array, skipping optional buttons that are not present. */
+  public static void writeButtons(
+      @NonNull JsonWriter out, @NonNull List<@Nullable ButtonComponent> buttons)
+      throws IOException {
+    if (out instanceof FragmentJsonWriter) {
+      FragmentJsonWriter writer = (FragmentJsonWriter) out;
+      writer.beginRawArray();
+      for (ButtonComponent button : buttons) {
+        if (button != null) {
+          writer.rawElement(fragment(button));
+        }
+      }
+      writer.endRawArray();
+      return;
+    }
+
+    out.beginArray();
+    for (ButtonComponent button : buttons) {
+      if (button != null) {
+        writeButton(out, button);
+      }
+    }
+    out.endArray();
+  }
+
+  /** Writes the given components as an array, skipping optional components that are not present. */
+  public static void writeComponents(
+      @NonNull JsonWriter out, @NonNull List<@Nullable Component> components) throws IOException {
+    if (out instanceof FragmentJsonWriter) {
+      FragmentJsonWriter writer = (FragmentJsonWriter) out;
+      writer.beginRawArray();
+      for (Component component : components) {
+        if (component != null) {
+          writer.rawElement(fragment(component));
+        }
+      }
+      writer.endRawArray();
+      return;
+    }
+
+    out.beginArray();
+    for (Component component : components) {
+      if (component != null) {
+        writeComponent(out, component);
+      }
+    }
+    out.endArray();
+  }
+
+  public static void writeButton(@NonNull JsonWriter out, @NonNull ButtonComponent button)
+      throws IOException {
+    out.beginObject();
+    out.name("text").value(button.text());
+    if (button.image() != null) {
+      out.name("image");
+      FormImageAdaptor.writeImage(out, button.image());
+    }
+    out.endObject();
+  }
+
+  public static void writeComponent(@NonNull JsonWriter out, @NonNull Component component)
+      throws IOException {
+    out.beginObject();
+    switch (component.type()) {
+      case DROPDOWN:
+        DropdownComponent dropdown = (DropdownComponent) component;
+        out.name("options");
+        writeStrings(out, dropdown.options());
+        out.name("default").value(dropdown.defaultOption());
+        break;
+      case INPUT:
+        InputComponent input = (InputComponent) component;
+        out.name("placeholder").value(input.placeholder());
+        out.name("default").value(input.defaultText());
+        break;
+      case LABEL:
+        break;
+      case SLIDER:
+        SliderComponent slider = (SliderComponent) component;
+        out.name("min").value(Float.valueOf(slider.minValue()));
+        out.name("max").value(Float.valueOf(slider.maxValue()));
+        out.name("step").value(Float.valueOf(slider.step()));
+        out.name("default").value(Float.valueOf(slider.defaultValue()));
+        break;
+      case STEP_SLIDER:
+        StepSliderComponent stepSlider = (StepSliderComponent) component;
+        out.name("steps");
+        writeStrings(out, stepSlider.steps());
+        out.name("default").value(stepSlider.defaultStep());
+        break;
+      case TOGGLE:
+        out.name("default").value(((ToggleComponent) component).defaultValue());
+        break;
+      default:
+        throw new IllegalStateException(
+            "Type " + component.type() + " does not have serialization implemented");
+    }
+    out.name("type").value(component.type().componentName());
+    out.name("text").value(component.text());
+    out.endObject();
+  }
+
+  /** Returns the serialized button, which is cached by the button if it's one of ours. */
+  private static String fragment(ButtonComponent button) throws IOException {
+    if (!(button instanceof ButtonComponentImpl)) {
+      return serialize(out -> writeButton(out, button));
+    }
+
+    ButtonComponentImpl impl = (ButtonComponentImpl) button;
+    String fragment = impl.jsonFragment;
+    if (fragment == null) {
+      impl.jsonFragment = fragment = serialize(out -> writeButton(out, button));
+    }
+    return fragment;
+  }
+
+  /** Returns the serialized component, which is cached by the component if it's one of ours. */
+  private static String fragment(Component component) throws IOException {
+    if (!(component instanceof ComponentImpl)) {
+      return serialize(out -> writeComponent(out, component));
+    }
+
+    ComponentImpl impl = (ComponentImpl) component;
+    String fragment = impl.jsonFragment;
+    if (fragment == null) {
+      impl.jsonFragment = fragment = serialize(out -> writeComponent(out, component));
+    }
+    return fragment;
+  }
+
+  private static String serialize(JsonWriterAction action) throws IOException {
+    StringWriter writer = new StringWriter();
+    JsonWriter out = new JsonWriter(writer);
+    out.setHtmlSafe(true);
+    action.write(out);
+    out.flush();
+    return writer.toString();
+  }
+
+  private interface JsonWriterAction {
+    void write(JsonWriter out) throws IOException;
+  }
+
+  private static void writeStrings(JsonWriter out, List<String> values) throws IOException {
+    out.beginArray();
+    for (String value : values) {
+      out.value(value);
+    }
+    out.endArray();
+  }
+}
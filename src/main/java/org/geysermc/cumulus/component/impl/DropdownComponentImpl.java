@@ -47,7 +47,8 @@ public final class DropdownComponentImpl extends ComponentImpl implements Dropdo
     Objects.requireNonNull(options);
     if (defaultOption < 0) throw new IllegalArgumentException("defaultOption cannot be negative");
 
-    this.options = Collections.unmodifiableList(options);
+    // copied, as the list is used by equals and hashCode and may still be changed by the caller
+    this.options = Collections.unmodifiableList(new ArrayList<>(options));
     // todo should we allow this?
     if (defaultOption >= options.size()) {
       defaultOption = 0;
@@ -65,6 +66,27 @@ public final class DropdownComponentImpl extends ComponentImpl implements Dropdo
     return defaultOption;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    DropdownComponentImpl that = (DropdownComponentImpl) o;
+    return defaultOption == that.defaultOption
+        && text().equals(that.text())
+        && options.equals(that.options);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = text().hashCode();
+    result = 31 * result + options.hashCode();
+    return 31 * result + defaultOption;
+  }
+
   public static class Builder implements DropdownComponent.Builder {
     private final List<String> options = new ArrayList<>();
     private String text = "";
@@ -52,4 +52,25 @@ public final class InputComponentImpl extends ComponentImpl implements InputComp
   public @NonNull String defaultText() {
     return defaultText;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    InputComponentImpl that = (InputComponentImpl) o;
+    return text().equals(that.text())
+        && placeholder.equals(that.placeholder)
+        && defaultText.equals(that.defaultText);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = text().hashCode();
+    result = 31 * result + placeholder.hashCode();
+    return 31 * result + defaultText.hashCode();
+  }
 }
@@ -32,4 +32,21 @@ public final class LabelComponentImpl extends ComponentImpl implements LabelComp
   public LabelComponentImpl(@NonNull String text) {
     super(ComponentType.LABEL, text);
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    LabelComponentImpl that = (LabelComponentImpl) o;
+    return text().equals(that.text());
+  }
+
+  @Override
+  public int hashCode() {
+    return text().hashCode();
+  }
 }
@@ -106,4 +106,29 @@ public final class SliderComponentImpl extends ComponentImpl implements SliderCo
   public float defaultValue() {
     return defaultValue;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SliderComponentImpl that = (SliderComponentImpl) o;
+    return Float.compare(min, that.min) == 0
+        && Float.compare(max, that.max) == 0
+        && Float.compare(step, that.step) == 0
+        && Float.compare(defaultValue, that.defaultValue) == 0
+        && text().equals(that.text());
+  }
+
+  @Override
+  public int hashCode() {
+    int result = text().hashCode();
+    result = 31 * result + Float.hashCode(min);
+    result = 31 * result + Float.hashCode(max);
+    result = 31 * result + Float.hashCode(step);
+    return 31 * result + Float.hashCode(defaultValue);
+  }
 }
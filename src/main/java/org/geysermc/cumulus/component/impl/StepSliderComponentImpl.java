@@ -47,7 +47,8 @@ public final class StepSliderComponentImpl extends ComponentImpl implements Step
     Objects.requireNonNull(steps, "steps cannot be null");
     if (defaultStep < 0) throw new IllegalArgumentException("defaultStep cannot be negative");
 
-    this.steps = Collections.unmodifiableList(steps);
+    // copied, as the list is used by equals and hashCode and may still be changed by the caller
+    this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
     // todo should we allow this?
     if (defaultStep >= steps.size()) {
       defaultStep = 0;
@@ -73,6 +74,27 @@ public final class StepSliderComponentImpl extends ComponentImpl implements Step
     return defaultStep;
   }
 
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    StepSliderComponentImpl that = (StepSliderComponentImpl) o;
+    return defaultStep == that.defaultStep
+        && text().equals(that.text())
+        && steps.equals(that.steps);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = text().hashCode();
+    result = 31 * result + steps.hashCode();
+    return 31 * result + defaultStep;
+  }
+
   public static final class Builder implements StepSliderComponent.Builder {
     private final List<String> steps = new ArrayList<>();
     private String text = "";
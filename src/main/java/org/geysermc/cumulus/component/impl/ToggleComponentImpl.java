@@ -42,4 +42,21 @@ public final class ToggleComponentImpl extends ComponentImpl implements ToggleCo
   public boolean defaultValue() {
     return defaultValue;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ToggleComponentImpl that = (ToggleComponentImpl) o;
+    return defaultValue == that.defaultValue && text().equals(that.text());
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * text().hashCode() + Boolean.hashCode(defaultValue);
+  }
 }
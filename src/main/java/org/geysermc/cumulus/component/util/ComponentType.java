@@ -28,6 +28,7 @@ import com.google.gson.annotations.SerializedName;
 import java.util.Locale;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.cumulus.util.impl.NameLookup;
 
 /**
  * An enum containing the valid component types. Valid component types are:
@@ -60,17 +61,41 @@ public enum ComponentType {
   @SerializedName("toggle")
   TOGGLE;
 
-  private static final ComponentType[] VALUES = values();
-
   private final String name = name().toLowerCase(Locale.ROOT);
 
+  private static final NameLookup<ComponentType> LOOKUP =
+      new NameLookup<>(values(), ComponentType::componentName);
+
   public static @Nullable ComponentType fromName(@Nullable String name) {
-    for (ComponentType type : VALUES) {
-      if (type.name.equals(name)) {
-        return type;
-      }
-    }
-    return null;
+    return name != null ? LOOKUP.get(name) : null;
+  }
+
+  /**
+   * Returns the component type with the given name, where the name is the given range of the char
+   * sequence. This allows parsers to look up the type without creating a String first.
+   *
+   * @param name the char sequence containing the name
+   * @param start the index of the first character of the name
+   * @param end the index after the last character of the name
+   * @return the component type with the given name, or null if there is none
+   * @since 2.0
+   */
+  public static @Nullable ComponentType fromName(@NonNull CharSequence name, int start, int end) {
+    return LOOKUP.get(name, start, end);
+  }
+
+  /**
+   * Returns the component type with the given name, where the name is the given range of the UTF-8
+   * (or ASCII) encoded bytes.
+   *
+   * @param name the bytes containing the name
+   * @param offset the index of the first byte of the name
+   * @param length the amount of bytes of the name
+   * @return the component type with the given name, or null if there is none
+   * @since 2.0
+   */
+  public static @Nullable ComponentType fromName(byte @NonNull [] name, int offset, int length) {
+    return LOOKUP.get(name, offset, length);
   }
 
   public @NonNull String componentName() {
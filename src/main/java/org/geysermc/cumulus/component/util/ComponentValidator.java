@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.component.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.cumulus.component.Component;
+
+/**
+ * Validates the value the client sent for a component of a CustomForm, and adds the value to the
+ * response when it's valid. Every {@link ComponentType} has a validator, which can be replaced
+ * using {@link org.geysermc.cumulus.Forms#registerComponentValidator(ComponentType,
+ * ComponentValidator)}.
+ *
+ * @param <C> the type of component this validator validates
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface ComponentValidator<C extends Component> {
+  /**
+   * Validates the value of the given component. When the value is valid, the validator has to add
+   * exactly one value to the given response, otherwise an {@link IllegalStateException} is thrown.
+   *
+   * @param component the component the value belongs to
+   * @param value the value the client sent
+   * @param response the response to add the value to
+   * @return null if the value is valid, otherwise the reason why it isn't
+   */
+  @Nullable String validate(
+      @NonNull C component, @NonNull Value value, @NonNull ValueSink response);
+
+  /**
+   * A single value of a response the client sent. The value is only converted when one of the
+   * value methods is called, and the result of calling one that doesn't match the type of the
+   * value is undefined.
+   *
+   * @since 2.0
+   */
+  interface Value {
+    /** Returns the type of the value. */
+    @NonNull ValueType type();
+
+    /** Returns the value as a boolean. */
+    boolean booleanValue();
+
+    /**
+     * Returns true if the value is a number without a fraction or exponent that fits in an int,
+     * which means that {@link #intValue()} returns it exactly.
+     */
+    boolean isInt();
+
+    /** Returns the value as an int, the same way Gson's getAsInt would. */
+    int intValue();
+
+    /** Returns the value as a float, the same way Gson's getAsFloat would. */
+    float floatValue();
+
+    /** Returns the value as a string, with its escape sequences resolved. */
+    @NonNull String stringValue();
+  }
+
+  /**
+   * Receives the value of a component that a validator accepted. Only one of the methods can be
+   * called, and only once.
+   *
+   * @since 2.0
+   */
+  interface ValueSink {
+    /** Adds the value of a label, which doesn't have a value. */
+    void label();
+
+    /** Adds the value of a dropdown or step slider. */
+    void intValue(int value);
+
+    /** Adds the value of a slider. */
+    void floatValue(float value);
+
+    /** Adds the value of a toggle. */
+    void booleanValue(boolean value);
+
+    /** Adds the value of an input. */
+    void stringValue(@NonNull String value);
+  }
+
+  /**
+   * The json types a value can have. Arrays and objects are both a structure, and are never valid.
+   *
+   * @since 2.0
+   */
+  enum ValueType {
+    NULL,
+    BOOLEAN,
+    NUMBER,
+    STRING,
+    STRUCTURE
+  }
+}
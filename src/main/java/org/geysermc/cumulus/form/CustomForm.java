@@ -24,7 +24,10 @@
  */
 package org.geysermc.cumulus.form;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.index.qual.Positive;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -36,6 +39,7 @@ import org.geysermc.cumulus.component.StepSliderComponent;
 import org.geysermc.cumulus.form.impl.custom.CustomFormImpl;
 import org.geysermc.cumulus.form.util.FormBuilder;
 import org.geysermc.cumulus.response.CustomFormResponse;
+import org.geysermc.cumulus.response.result.FormResponseResult;
 import org.geysermc.cumulus.util.FormImage;
 
 /**
@@ -61,7 +65,7 @@ public interface CustomForm extends Form {
    */
   static @NonNull CustomForm of(
       @NonNull String title, @Nullable FormImage icon, @NonNull List<Component> content) {
-    return new CustomFormImpl(title, icon, content);
+    return new CustomFormImpl(title, icon, new ArrayList<>(content));
   }
 
   /** Returns the optional icon of the form. The icon can only be seen in the servers settings. */
@@ -73,6 +77,56 @@ public interface CustomForm extends Form {
    */
   @NonNull List<@Nullable Component> content();
 
+  /**
+   * Returns a future that completes with the next result this form receives.
+   *
+   * @since 2.0
+   */
+  @NonNull CompletableFuture<FormResponseResult<CustomFormResponse>> nextResult();
+
+  /**
+   * Returns a future that completes with the next result this form receives, or exceptionally
+   * with a {@link java.util.concurrent.TimeoutException} when it didn't receive one in time.
+   *
+   * @param timeout the maximum time to wait for a result
+   * @param unit the unit of the timeout
+   * @return the future that completes with the next result
+   * @since 2.0
+   */
+  @NonNull CompletableFuture<FormResponseResult<CustomFormResponse>> nextResult(
+      long timeout, @NonNull TimeUnit unit);
+
+  /**
+   * Returns a copy of this form with a different title. The copy shares everything else with this
+   * form, including the result handler.
+   *
+   * @param title the title of the new form
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull CustomForm withTitle(@NonNull String title);
+
+  /**
+   * Returns a copy of this form with a different icon.
+   *
+   * @param icon the icon of the new form, or null to not have an icon
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull CustomForm withIcon(@Nullable FormImage icon);
+
+  /**
+   * Returns a copy of this form with the component at the given index replaced. The other
+   * components are shared with this form and are not copied.
+   *
+   * @param index the index of the component to replace
+   * @param component the new component, or null to hide the component
+   * @return the derived form
+   * @throws IndexOutOfBoundsException if there is no component at the given index
+   * @since 2.0
+   */
+  @NonNull CustomForm withComponent(int index, @Nullable Component component);
+
   /**
    * An easy way to create a CustomForm. For more information and code examples look at <a
    * href="https://github.com/GeyserMC/Cumulus/wiki">the wiki</a>.
@@ -86,6 +140,20 @@ public interface CustomForm extends Form {
 
     @This Builder iconUrl(@NonNull String url);
 
+    /**
+     * Set whether the values of responses should be validated and converted when they are
+     * accessed, instead of when the response is received. The structure of the response is still
+     * checked when it is received, but a value that doesn't match its component only results in an
+     * IllegalStateException once it is accessed, instead of in an invalid result. This is useful
+     * for forms where the handlers only read a few of the components. Default value is
+     * <b>false</b>
+     *
+     * @param lazyResponses true to validate values when accessed, false to validate them directly
+     * @return the form builder
+     * @since 2.0
+     */
+    @This Builder lazyResponses(boolean lazyResponses);
+
     @This Builder component(@NonNull Component component);
 
     /**
@@ -24,11 +24,14 @@
  */
 package org.geysermc.cumulus.form;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.common.returnsreceiver.qual.This;
 import org.geysermc.cumulus.form.impl.modal.ModalFormImpl;
 import org.geysermc.cumulus.form.util.FormBuilder;
 import org.geysermc.cumulus.response.ModalFormResponse;
+import org.geysermc.cumulus.response.result.FormResponseResult;
 
 /**
  * Represents a ModalForm which can be shown to the client. A ModalForm is the most basic form type.
@@ -83,6 +86,62 @@ public interface ModalForm extends Form {
    */
   @NonNull String button2();
 
+  /**
+   * Returns a future that completes with the next result this form receives.
+   *
+   * @since 2.0
+   */
+  @NonNull CompletableFuture<FormResponseResult<ModalFormResponse>> nextResult();
+
+  /**
+   * Returns a future that completes with the next result this form receives, or exceptionally
+   * with a {@link java.util.concurrent.TimeoutException} when it didn't receive one in time.
+   *
+   * @param timeout the maximum time to wait for a result
+   * @param unit the unit of the timeout
+   * @return the future that completes with the next result
+   * @since 2.0
+   */
+  @NonNull CompletableFuture<FormResponseResult<ModalFormResponse>> nextResult(
+      long timeout, @NonNull TimeUnit unit);
+
+  /**
+   * Returns a copy of this form with a different title. The copy shares everything else with this
+   * form, including the result handler.
+   *
+   * @param title the title of the new form
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull ModalForm withTitle(@NonNull String title);
+
+  /**
+   * Returns a copy of this form with a different description.
+   *
+   * @param content the description of the new form
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull ModalForm withContent(@NonNull String content);
+
+  /**
+   * Returns a copy of this form with a different text for the first button.
+   *
+   * @param button1 the text of the first button of the new form
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull ModalForm withButton1(@NonNull String button1);
+
+  /**
+   * Returns a copy of this form with a different text for the second button.
+   *
+   * @param button2 the text of the second button of the new form
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull ModalForm withButton2(@NonNull String button2);
+
   /**
    * An easy way to create a ModalForm. For more information and code examples look at <a
    * href="https://github.com/GeyserMC/Cumulus/wiki">the wiki</a>.
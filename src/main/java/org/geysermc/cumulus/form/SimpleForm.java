@@ -5,7 +5,10 @@
  */
 package org.geysermc.cumulus.form;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -14,6 +17,7 @@ import org.geysermc.cumulus.component.ButtonComponent;
 import org.geysermc.cumulus.form.impl.simple.SimpleFormImpl;
 import org.geysermc.cumulus.form.util.FormBuilder;
 import org.geysermc.cumulus.response.SimpleFormResponse;
+import org.geysermc.cumulus.response.result.FormResponseResult;
 import org.geysermc.cumulus.util.FormImage;
 
 /**
@@ -39,7 +43,7 @@ public interface SimpleForm extends Form {
    */
   static @NonNull SimpleForm of(
       @NonNull String title, @NonNull String content, @NonNull List<ButtonComponent> buttons) {
-    return new SimpleFormImpl(title, content, buttons);
+    return new SimpleFormImpl(title, content, new ArrayList<>(buttons));
   }
 
   /** Returns the description of the Form. */
@@ -51,6 +55,56 @@ public interface SimpleForm extends Form {
    */
   @NonNull List<@Nullable ButtonComponent> buttons();
 
+  /**
+   * Returns a future that completes with the next result this form receives.
+   *
+   * @since 2.0
+   */
+  @NonNull CompletableFuture<FormResponseResult<SimpleFormResponse>> nextResult();
+
+  /**
+   * Returns a future that completes with the next result this form receives, or exceptionally
+   * with a {@link java.util.concurrent.TimeoutException} when it didn't receive one in time.
+   *
+   * @param timeout the maximum time to wait for a result
+   * @param unit the unit of the timeout
+   * @return the future that completes with the next result
+   * @since 2.0
+   */
+  @NonNull CompletableFuture<FormResponseResult<SimpleFormResponse>> nextResult(
+      long timeout, @NonNull TimeUnit unit);
+
+  /**
+   * Returns a copy of this form with a different title. The copy shares everything else with this
+   * form, including the result handler.
+   *
+   * @param title the title of the new form
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull SimpleForm withTitle(@NonNull String title);
+
+  /**
+   * Returns a copy of this form with a different description.
+   *
+   * @param content the description of the new form
+   * @return the derived form
+   * @since 2.0
+   */
+  @NonNull SimpleForm withContent(@NonNull String content);
+
+  /**
+   * Returns a copy of this form with the button at the given index replaced. The other buttons are
+   * shared with this form and are not copied.
+   *
+   * @param index the index of the button to replace
+   * @param button the new button, or null to hide the button
+   * @return the derived form
+   * @throws IndexOutOfBoundsException if there is no button at the given index
+   * @since 2.0
+   */
+  @NonNull SimpleForm withButton(int index, @Nullable ButtonComponent button);
+
   /**
    * An easy way to create a CustomForm. For more information and code examples look at <a
    * href="https://github.com/GeyserMC/Cumulus/wiki">the wiki</a>.
@@ -25,6 +25,12 @@
 package org.geysermc.cumulus.form.impl;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.ObjIntConsumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.form.Form;
@@ -55,11 +61,211 @@ public abstract class FormDefinition<
     return codec;
   }
 
+  /**
+   * Handles the response of the given form. When the form has a handler executor, the response is
+   * parsed on the calling thread, so parse failures are still thrown from here, but the handlers
+   * are called on the executor. Exceptions thrown by the handlers there are passed to the uncaught
+   * exception handler of the executor thread. Use {@link #handleFormResponseAsync} to handle them
+   * yourself.
+   *
+   * @param form the form that received the response
+   * @param responseData the response data
+   * @throws Exception when parsing the response failed, or when one of the handlers failed while
+   *     the form doesn't have a handler executor
+   */
+  @SuppressWarnings("unchecked")
   public void handleFormResponse(F form, @Nullable String responseData) throws Exception {
+    Executor executor = ((FormImpl<R>) form).handlerExecutor();
+    if (executor != null) {
+      FormResponseResult<R> result = parseUnlessRaw(form, responseData);
+      executor.execute(
+          () -> {
+            try {
+              handleParsedResponse(form, responseData, result, null);
+            } catch (Throwable throwable) {
+              // there's no caller left to throw to, so handle it like any other uncaught exception
+              Thread thread = Thread.currentThread();
+              thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+            }
+          });
+      return;
+    }
+
     if (!callRawResponseConsumer(form, responseData)) {
-      FormResponseResult<R> result = codec().deserializeFormResponse(form, responseData);
-      callResponseHandler(form, result);
+      callResponseHandler(form, deserializeFormResponse(form, responseData));
+    }
+  }
+
+  /**
+   * Parses the response on the calling thread and calls the handlers of the form on the handler
+   * executor of the form, or directly when the form doesn't have one.
+   *
+   * @param form the form that received the response
+   * @param responseData the response data
+   * @return a stage that completes with the result once the handlers have been called, or
+   *     exceptionally when parsing the response or one of the handlers failed. Completes with null
+   *     when the response was handled by the raw response consumer
+   * @since 2.0
+   */
+  public @NonNull CompletionStage<@Nullable FormResponseResult<R>> handleFormResponseAsync(
+      F form, @Nullable String responseData) {
+    try {
+      return dispatchFormResponse(form, responseData);
+    } catch (RuntimeException exception) {
+      CompletableFuture<FormResponseResult<R>> future = new CompletableFuture<>();
+      future.completeExceptionally(exception);
+      return future;
+    }
+  }
+
+  /**
+   * Parses the response on the calling thread, throwing when that fails, and handles it on the
+   * handler executor of the form.
+   */
+  @SuppressWarnings("unchecked")
+  private CompletionStage<@Nullable FormResponseResult<R>> dispatchFormResponse(
+      F form, @Nullable String responseData) {
+    FormResponseResult<R> result = parseUnlessRaw(form, responseData);
+    return ((FormImpl<R>) form)
+        .dispatch(() -> handleParsedResponse(form, responseData, result, null));
+  }
+
+  /**
+   * Parses the response, unless the raw response consumer most likely handles it. In that case it's
+   * only parsed later if {@link #callRawResponseConsumer} doesn't handle it.
+   */
+  @SuppressWarnings("unchecked")
+  private @Nullable FormResponseResult<R> parseUnlessRaw(F form, @Nullable String responseData) {
+    if (((FormImpl<R>) form).rawResponseConsumer != null) {
+      return null;
+    }
+    return deserializeFormResponse(form, responseData);
+  }
+
+  /**
+   * Handles the responses of multiple forms of this definition. All responses are parsed first,
+   * after which the handlers of the forms are called in the order of the given indexes. Every
+   * response goes through the same hooks as {@link #handleFormResponse}. An exception while
+   * handling a response is reported to the error handler and doesn't stop the remaining responses
+   * from being handled. The handlers of forms with a handler executor are called on that executor,
+   * and their exceptions are reported from there. This means that the error handler can be called
+   * concurrently from multiple threads, so it has to be thread-safe.
+   *
+   * @param forms the forms that have received a response
+   * @param responses the response data of every form, at the same index as the form
+   * @param indexes the indexes of the forms to handle, all of which have to be of this definition
+   * @param start the first position in indexes to handle (inclusive)
+   * @param end the last position in indexes to handle (exclusive)
+   * @param errorHandler called with the exception and the form index for every failed response
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public void handleFormResponses(
+      @NonNull Form @NonNull [] forms,
+      @Nullable String @NonNull [] responses,
+      int @NonNull [] indexes,
+      int start,
+      int end,
+      @NonNull ObjIntConsumer<Exception> errorHandler) {
+    FormResponseResult<R>[] results = new FormResponseResult[end - start];
+    Exception[] failures = null;
+
+    for (int i = start; i < end; i++) {
+      int index = indexes[i];
+      F form = (F) forms[index];
+      if (form == null) {
+        errorHandler.accept(
+            new NullPointerException("The form at index " + index + " is null"), index);
+        continue;
+      }
+
+      try {
+        results[i - start] = parseUnlessRaw(form, responses[index]);
+      } catch (Exception exception) {
+        if (failures == null) {
+          failures = new Exception[end - start];
+        }
+        failures[i - start] = exception;
+      }
     }
+
+    for (int i = start; i < end; i++) {
+      int index = indexes[i];
+      F form = (F) forms[index];
+      if (form == null) {
+        continue;
+      }
+      String responseData = responses[index];
+      FormResponseResult<R> result = results[i - start];
+      Exception failure = failures != null ? failures[i - start] : null;
+
+      FormImpl<R> impl = (FormImpl<R>) form;
+      if (impl.handlerExecutor() != null) {
+        impl.dispatch(
+                () -> {
+                  handleParsedResponse(form, responseData, result, failure);
+                  return null;
+                })
+            .whenComplete(
+                ($, throwable) -> {
+                  if (throwable != null) {
+                    errorHandler.accept(asException(throwable), index);
+                  }
+                });
+        continue;
+      }
+
+      try {
+        handleParsedResponse(form, responseData, result, failure);
+      } catch (Exception exception) {
+        errorHandler.accept(exception, index);
+      }
+    }
+  }
+
+  /**
+   * Returns the exception a handler failed with. Throwables that aren't exceptions, like assertion
+   * errors, are wrapped so they can still be passed to an error handler.
+   */
+  private static Exception asException(Throwable throwable) {
+    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    return throwable instanceof Exception
+        ? (Exception) throwable
+        : new ExecutionException(throwable);
+  }
+
+  /**
+   * Handles a response of which the parsing has already been attempted, the same way as {@link
+   * #handleFormResponse} would.
+   *
+   * @param result the parsed response, or null if it hasn't been parsed
+   * @param failure the exception thrown while parsing the response, or null if there is none
+   * @return the result that has been passed to the response handler, or null when the response was
+   *     handled by the raw response consumer
+   */
+  private @Nullable FormResponseResult<R> handleParsedResponse(
+      F form,
+      @Nullable String responseData,
+      @Nullable FormResponseResult<R> result,
+      @Nullable Exception failure)
+      throws Exception {
+    if (callRawResponseConsumer(form, responseData)) {
+      return null;
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    if (result == null) {
+      result = deserializeFormResponse(form, responseData);
+    }
+    callResponseHandler(form, result);
+    return result;
+  }
+
+  protected @NonNull FormResponseResult<R> deserializeFormResponse(
+      F form, @Nullable String responseData) {
+    return codec.deserializeFormResponse(form, responseData);
   }
 
   @SuppressWarnings("unchecked")
@@ -73,6 +279,26 @@ public abstract class FormDefinition<
     ((FormImpl<R>) form).callResultHandler(result);
   }
 
+  /**
+   * Initializes and exercises the codec of this definition, so that the first form that is sent
+   * after startup doesn't have to pay for it. Does nothing by default.
+   */
+  public void warmUp() {}
+
+  /**
+   * Serializes and deserializes the given form, and parses the given response for it. This makes
+   * sure that everything involved in handling forms of this type has been loaded.
+   *
+   * @param form the form to exercise the codec with
+   * @param responseData a valid response to the form
+   */
+  protected final void warmUp(@NonNull F form, @NonNull String responseData) {
+    String jsonData = codec.jsonData(form);
+    codec.jsonDataBytes(form);
+    codec.fromJson(jsonData, (parsed, response) -> {});
+    codec.deserializeFormResponse(form, responseData);
+  }
+
   public final @NonNull FormType formType() {
     return formType;
   }
@@ -24,22 +24,32 @@
  */
 package org.geysermc.cumulus.form.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.form.Form;
 import org.geysermc.cumulus.form.impl.custom.CustomFormDefinition;
 import org.geysermc.cumulus.form.impl.modal.ModalFormDefinition;
 import org.geysermc.cumulus.form.impl.simple.SimpleFormDefinition;
 import org.geysermc.cumulus.form.util.FormCodec;
 import org.geysermc.cumulus.form.util.FormType;
+import org.geysermc.cumulus.form.util.impl.FormCodecImpl;
 
 /** This class is not part of the API, so breaking changes can happen. */
 public final class FormDefinitions {
   private static final FormDefinitions definitions = new FormDefinitions();
 
-  private final Map<FormType, FormDefinition<?, ?, ?>> typeDefinitionMap = new HashMap<>();
-  private final Map<Class<? extends FormImpl<?>>, FormDefinition<?, ?, ?>>
-      implClassTypeDefinitionMap = new HashMap<>();
+  // both lookups are replaced as a whole when a definition is added (copy-on-write),
+  // so reading them never requires a lock
+  private volatile FormDefinition<?, ?, ?>[] typeDefinitions =
+      new FormDefinition<?, ?, ?>[FormType.values().length];
+  private volatile Map<Class<? extends FormImpl<?>>, FormDefinition<?, ?, ?>>
+      implClassTypeDefinitionMap = Collections.emptyMap();
 
   private FormDefinitions() {}
 
@@ -59,27 +69,117 @@ public final class FormDefinitions {
 
   @SuppressWarnings("unchecked")
   public <C extends FormDefinition<F, ?, ?>, F extends Form> C definitionFor(F form) {
+    if (form instanceof FormImpl) {
+      return (C) ((FormImpl<?>) form).definition();
+    }
     return (C) implClassTypeDefinitionMap.get(form.getClass());
   }
 
+  @SuppressWarnings("unchecked")
+  public <C extends FormDefinition<?, ?, ?>> C definitionForImplClass(Class<?> formImplClass) {
+    return (C) implClassTypeDefinitionMap.get(formImplClass);
+  }
+
   public FormType typeFromImplClass(Class<? extends Form> formClass) {
     return implClassTypeDefinitionMap.get(formClass).formType();
   }
 
-  public boolean addDefinition(FormDefinition<?, ?, ?> definition) {
-    FormType type = definition.formType();
-    if (typeDefinitionMap.putIfAbsent(type, definition) != null) {
-      return false;
+  /**
+   * Handles the responses of multiple forms at once, which has less overhead per response than
+   * handling every response separately. The responses are grouped by definition and every group is
+   * handled by {@link FormDefinition#handleFormResponses}, so the handlers of forms of the same
+   * type are called in order, but not necessarily in order with forms of other types. An exception
+   * while handling a response is reported to the error handler and doesn't stop the remaining
+   * responses from being handled. The exceptions of handlers that are called on the handler
+   * executor of their form are reported from that executor, so the error handler can be called
+   * concurrently from multiple threads and has to be thread-safe.
+   *
+   * @param forms the forms that have received a response
+   * @param responses the response data of every form, at the same index as the form
+   * @param errorHandler called with the exception and the form index for every failed response
+   */
+  public void handleFormResponses(
+      @NonNull Form @NonNull [] forms,
+      @Nullable String @NonNull [] responses,
+      @NonNull ObjIntConsumer<Exception> errorHandler) {
+    Objects.requireNonNull(errorHandler, "errorHandler");
+    if (forms.length != responses.length) {
+      throw new IllegalArgumentException("Every form should have exactly one response");
+    }
+
+    // group the forms by form type using a counting sort, which keeps the order within a type
+    FormDefinition<?, ?, ?>[] definitions = new FormDefinition<?, ?, ?>[forms.length];
+    int[] groupStart = new int[typeDefinitions.length + 1];
+    for (int i = 0; i < forms.length; i++) {
+      if (forms[i] == null) {
+        errorHandler.accept(new NullPointerException("The form at index " + i + " is null"), i);
+        continue;
+      }
+      FormDefinition<?, ?, ?> definition = definitionFor(forms[i]);
+      if (definition == null) {
+        errorHandler.accept(
+            new IllegalArgumentException("Cannot find definition for " + forms[i].getClass()), i);
+        continue;
+      }
+      definitions[i] = definition;
+      groupStart[definition.formType().ordinal() + 1]++;
+    }
+    for (int i = 1; i < groupStart.length; i++) {
+      groupStart[i] += groupStart[i - 1];
+    }
+
+    int[] indexes = new int[groupStart[groupStart.length - 1]];
+    int[] position = Arrays.copyOf(groupStart, groupStart.length - 1);
+    for (int i = 0; i < forms.length; i++) {
+      if (definitions[i] != null) {
+        indexes[position[definitions[i].formType().ordinal()]++] = i;
+      }
     }
 
+    // forms of the same type usually share a definition, but split on the rare occasion they don't
+    int runStart = 0;
+    for (int i = 1; i <= indexes.length; i++) {
+      if (i == indexes.length || definitions[indexes[i]] != definitions[indexes[runStart]]) {
+        definitions[indexes[runStart]]
+            .handleFormResponses(forms, responses, indexes, runStart, i, errorHandler);
+        runStart = i;
+      }
+    }
+  }
+
+  public synchronized boolean addDefinition(FormDefinition<?, ?, ?> definition) {
+    int typeIndex = definition.formType().ordinal();
     Class<? extends FormImpl<?>> formImplClass = definition.formImplClass();
-    if (implClassTypeDefinitionMap.putIfAbsent(formImplClass, definition) != null) {
-      typeDefinitionMap.remove(type);
+    if (typeDefinitions[typeIndex] != null
+        || implClassTypeDefinitionMap.containsKey(formImplClass)) {
       return false;
     }
+
+    Map<Class<? extends FormImpl<?>>, FormDefinition<?, ?, ?>> implClassMap =
+        new HashMap<>(implClassTypeDefinitionMap);
+    implClassMap.put(formImplClass, definition);
+
+    FormDefinition<?, ?, ?>[] definitions = typeDefinitions.clone();
+    definitions[typeIndex] = definition;
+
+    // the definition can be found by its impl class slightly before it can be found by its type
+    implClassTypeDefinitionMap = implClassMap;
+    typeDefinitions = definitions;
     return true;
   }
 
+  /**
+   * Initializes and exercises the codec of every registered form definition, to prevent a latency
+   * spike when the first form of each type is sent.
+   */
+  public void warmUp() {
+    for (FormDefinition<?, ?, ?> definition : typeDefinitions) {
+      if (definition != null) {
+        definition.warmUp();
+      }
+    }
+  }
+
   private void ensureDefinitionAdded(FormDefinition<?, ?, ?> definition) {
     if (!addDefinition(definition)) {
       throw new IllegalStateException("Cumulus was unable to add all default form definitions");
@@ -87,7 +187,7 @@ public final class FormDefinitions {
   }
 
   private FormDefinition<?, ?, ?> findDefinition(FormType formType) {
-    FormDefinition<?, ?, ?> definition = typeDefinitionMap.get(formType);
+    FormDefinition<?, ?, ?> definition = typeDefinitions[formType.ordinal()];
     if (definition == null) {
       throw new RuntimeException("Cannot find implementation for FormType " + formType);
     }
@@ -103,5 +203,11 @@ public final class FormDefinitions {
     definitions.ensureDefinitionAdded(SimpleFormDefinition.instance());
     definitions.ensureDefinitionAdded(ModalFormDefinition.instance());
     definitions.ensureDefinitionAdded(CustomFormDefinition.instance());
+
+    // the default codecs don't have conflicting adapters, so they can share a Gson instance
+    FormCodecImpl.shareGson(
+        (FormCodecImpl<?, ?>) SimpleFormDefinition.instance().codec(),
+        (FormCodecImpl<?, ?>) ModalFormDefinition.instance().codec(),
+        (FormCodecImpl<?, ?>) CustomFormDefinition.instance().codec());
   }
 }
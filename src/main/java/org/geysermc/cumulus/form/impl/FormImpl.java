@@ -7,7 +7,19 @@ package org.geysermc.cumulus.form.impl;
 
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -22,15 +34,39 @@ import org.geysermc.cumulus.response.result.ResultType;
 import org.geysermc.cumulus.response.result.ValidFormResponseResult;
 
 public abstract class FormImpl<R extends FormResponse> implements Form {
-  protected Consumer<FormResponseResult<R>> responseHandler;
+  private static final ResultType[] RESULT_TYPES = ResultType.values();
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<FormImpl, CompletableFuture[]> RESULT_WAITERS =
+      AtomicReferenceFieldUpdater.newUpdater(
+          FormImpl.class, CompletableFuture[].class, "resultWaiters");
+
+  protected BiConsumer<FormImpl<R>, FormResponseResult<R>> responseHandler;
   protected Consumer<@Nullable String> rawResponseConsumer;
 
   private final String title;
 
+  private Executor handlerExecutor;
+  /** The futures returned by {@link #nextResult()} that are still waiting, copied on write. */
+  private volatile CompletableFuture<FormResponseResult<R>>[] resultWaiters;
+
+  private boolean cacheJsonData;
+  private String jsonData;
+  private byte[] jsonDataBytes;
+
   public FormImpl(@NonNull String title) {
     this.title = Objects.requireNonNull(title, "title");
   }
 
+  /**
+   * Returns the definition of this form. Form implementations should override this to return their
+   * definition directly, so that handling a response doesn't require a registry lookup. The default
+   * implementation looks up the definition by the class of this form.
+   */
+  public @NonNull FormDefinition<?, ?, R> definition() {
+    return FormDefinitions.instance().definitionForImplClass(getClass());
+  }
+
   public boolean callRawResponseConsumer(@Nullable String responseData) throws Exception {
     if (rawResponseConsumer != null) {
       rawResponseConsumer.accept(responseData);
@@ -44,20 +80,257 @@ public abstract class FormImpl<R extends FormResponse> implements Form {
   }
 
   public void callResultHandler(@Nullable FormResponseResult<R> response) throws Exception {
-    if (responseHandler != null) {
-      responseHandler.accept(response);
+    try {
+      if (responseHandler != null) {
+        responseHandler.accept(this, response);
+      }
+    } finally {
+      if (resultWaiters != null) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<FormResponseResult<R>>[] waiters = RESULT_WAITERS.getAndSet(this, null);
+        if (waiters != null) {
+          for (CompletableFuture<FormResponseResult<R>> waiter : waiters) {
+            waiter.complete(response);
+          }
+        }
+      }
     }
   }
 
+  /**
+   * Returns a future that completes with the next result this form receives, after the result
+   * handler has been called. Every call returns a new future, so cancelling one of them doesn't
+   * affect the others. No thread is blocked while waiting for the result.
+   *
+   * <p>The next result is the first result this form receives from anyone. When the same form
+   * instance is sent to multiple players, the first response completes the futures of all of them,
+   * so use a form instance per player when waiting for the result of a specific player.
+   */
+  public @NonNull CompletableFuture<FormResponseResult<R>> nextResult() {
+    CompletableFuture<FormResponseResult<R>> future = new CompletableFuture<>();
+    addResultWaiter(future);
+    // stop tracking the future when it's completed otherwise, e.g. when it's cancelled or timed out
+    future.whenComplete(($, throwable) -> removeResultWaiter(future));
+    return future;
+  }
+
+  /**
+   * Returns a future that completes with the next result this form receives, or that completes
+   * exceptionally with a {@link TimeoutException} when no result has been received within the
+   * given time.
+   *
+   * @param timeout the maximum time to wait for a result
+   * @param unit the unit of the timeout
+   * @return the future that completes with the next result
+   */
+  public @NonNull CompletableFuture<FormResponseResult<R>> nextResult(
+      long timeout, @NonNull TimeUnit unit) {
+    Objects.requireNonNull(unit, "unit");
+    CompletableFuture<FormResponseResult<R>> future = nextResult();
+    ScheduledFuture<?> timeoutTask =
+        TimeoutScheduler.INSTANCE.schedule(
+            () -> future.completeExceptionally(new TimeoutException()), timeout, unit);
+    future.whenComplete(($, throwable) -> timeoutTask.cancel(false));
+    return future;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void addResultWaiter(CompletableFuture<FormResponseResult<R>> future) {
+    CompletableFuture<FormResponseResult<R>>[] current;
+    CompletableFuture<FormResponseResult<R>>[] updated;
+    do {
+      current = resultWaiters;
+      if (current == null) {
+        updated = new CompletableFuture[] {future};
+      } else {
+        updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = future;
+      }
+    } while (!RESULT_WAITERS.compareAndSet(this, current, updated));
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void removeResultWaiter(CompletableFuture<FormResponseResult<R>> future) {
+    CompletableFuture<FormResponseResult<R>>[] current;
+    CompletableFuture<FormResponseResult<R>>[] updated;
+    do {
+      current = resultWaiters;
+      int index = current != null ? Arrays.asList(current).indexOf(future) : -1;
+      if (index == -1) {
+        // already completed by a result
+        return;
+      }
+      if (current.length == 1) {
+        updated = null;
+      } else {
+        updated = new CompletableFuture[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 1, updated, index, updated.length - index);
+      }
+    } while (!RESULT_WAITERS.compareAndSet(this, current, updated));
+  }
+
   public void resultHandler(@NonNull Consumer<FormResponseResult<R>> responseHandler) {
+    Objects.requireNonNull(responseHandler);
+    this.responseHandler = ($, response) -> responseHandler.accept(response);
+  }
+
+  /**
+   * Sets a result handler that also receives the form the result belongs to. This allows a single
+   * result handler to be shared between multiple forms.
+   */
+  public void resultHandler(
+      @NonNull BiConsumer<FormImpl<R>, FormResponseResult<R>> responseHandler) {
     this.responseHandler = Objects.requireNonNull(responseHandler);
   }
 
+  /** Makes this form use the same result handler as the given form. */
+  public void copyResultHandler(@NonNull FormImpl<R> source) {
+    this.responseHandler = Objects.requireNonNull(source, "source").responseHandler;
+    this.handlerExecutor = source.handlerExecutor;
+  }
+
+  /**
+   * Makes the given form, which has been derived from this form, use the same result handler and
+   * settings as this form.
+   *
+   * @return the given form
+   */
+  protected <T extends FormImpl<R>> @NonNull T derive(@NonNull T derived) {
+    derived.copyResultHandler(this);
+    derived.cacheJsonData(cacheJsonData);
+    return derived;
+  }
+
+  /**
+   * Returns the indexes of the elements that are present, in order. Optional buttons and
+   * components are null when they're not added, and the client doesn't know about them. This makes
+   * it possible to map the index the client uses to the index of the element in the list.
+   */
+  public static int @NonNull [] presentIndexes(@NonNull List<?> elements) {
+    int count = 0;
+    for (Object element : elements) {
+      if (element != null) {
+        count++;
+      }
+    }
+
+    int[] indexes = new int[count];
+    int index = 0;
+    for (int i = 0; i < elements.size(); i++) {
+      if (elements.get(i) != null) {
+        indexes[index++] = i;
+      }
+    }
+    return indexes;
+  }
+
+  /** Sets the executor the result handlers are called on, or null to call them directly. */
+  public void handlerExecutor(@Nullable Executor handlerExecutor) {
+    this.handlerExecutor = handlerExecutor;
+  }
+
+  /** Returns the executor the result handlers are called on, or null if they're called directly. */
+  public @Nullable Executor handlerExecutor() {
+    return handlerExecutor;
+  }
+
+  /**
+   * Runs the given task on the handler executor, or directly when this form doesn't have one.
+   *
+   * @return a stage that completes with the result of the task, or exceptionally when it failed
+   */
+  <T> CompletionStage<T> dispatch(Callable<T> task) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Runnable runnable =
+        () -> {
+          try {
+            future.complete(task.call());
+          } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+          }
+        };
+
+    Executor executor = handlerExecutor;
+    if (executor == null) {
+      runnable.run();
+      return future;
+    }
+
+    try {
+      executor.execute(runnable);
+    } catch (RejectedExecutionException exception) {
+      future.completeExceptionally(exception);
+    }
+    return future;
+  }
+
+  /**
+   * Sets whether the serialized form should be cached after the first time this form has been
+   * serialized. Forms are immutable, so this is safe to enable for forms that are sent many times.
+   */
+  public void cacheJsonData(boolean cacheJsonData) {
+    this.cacheJsonData = cacheJsonData;
+    if (!cacheJsonData) {
+      this.jsonData = null;
+      this.jsonDataBytes = null;
+    }
+  }
+
+  /** Returns whether the serialized form is cached. */
+  public boolean cacheJsonData() {
+    return cacheJsonData;
+  }
+
+  /** Returns the cached serialized form, or null if caching is disabled or it isn't cached yet. */
+  public @Nullable String cachedJsonData() {
+    return jsonData;
+  }
+
+  /** Caches the serialized form, if caching has been enabled for this form. */
+  public void cachedJsonData(@NonNull String jsonData) {
+    if (cacheJsonData) {
+      this.jsonData = Objects.requireNonNull(jsonData, "jsonData");
+    }
+  }
+
+  /**
+   * Returns the cached UTF-8 encoded serialized form, or null if caching is disabled or it isn't
+   * cached yet. The returned array is shared and should not be modified.
+   */
+  public byte @Nullable [] cachedJsonDataBytes() {
+    return jsonDataBytes;
+  }
+
+  /** Caches the UTF-8 encoded serialized form, if caching has been enabled for this form. */
+  public void cachedJsonDataBytes(byte @NonNull [] jsonDataBytes) {
+    if (cacheJsonData) {
+      this.jsonDataBytes = Objects.requireNonNull(jsonDataBytes, "jsonDataBytes");
+    }
+  }
+
   @Override
   public @NonNull String title() {
     return title;
   }
 
+  /** A single daemon thread that completes the futures of {@link #nextResult(long, TimeUnit)}. */
+  private static final class TimeoutScheduler {
+    static final ScheduledThreadPoolExecutor INSTANCE;
+
+    static {
+      INSTANCE =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "Cumulus form timeout");
+                thread.setDaemon(true);
+                return thread;
+              });
+      INSTANCE.setRemoveOnCancelPolicy(true);
+    }
+  }
+
   public abstract static class Builder<
           B extends FormBuilder<B, F, R>, F extends Form, R extends FormResponse>
       implements FormBuilder<B, F, R> {
@@ -68,12 +341,16 @@ public abstract class FormImpl<R extends FormResponse> implements Form {
     protected String locale;
 
     protected BiConsumer<F, FormResponseResult<R>> selectedResultHandler;
+    protected Set<ResultType> selectedResultTypes;
 
     protected Consumer<F> closedResultHandlerConsumer;
     protected BiConsumer<F, InvalidFormResponseResult<R>> invalidResultHandler;
     protected BiConsumer<F, FormResponseResult<R>> closedOrInvalidResultHandler;
     protected BiConsumer<F, R> validResultHandler;
 
+    protected boolean cacheJsonData;
+    protected Executor handlerExecutor;
+
     @Override
     public B title(@NonNull String title) {
       this.title = translate(Objects.requireNonNull(title, "title"));
@@ -93,6 +370,18 @@ public abstract class FormImpl<R extends FormResponse> implements Form {
       return translator(translator, locale);
     }
 
+    @Override
+    public B cacheJsonData(boolean cacheJsonData) {
+      this.cacheJsonData = cacheJsonData;
+      return self();
+    }
+
+    @Override
+    public B handlerExecutor(@Nullable Executor executor) {
+      this.handlerExecutor = executor;
+      return self();
+    }
+
     @Override
     public B closedResultHandler(@NonNull Consumer<F> resultHandler) {
       this.closedResultHandlerConsumer = Objects.requireNonNull(resultHandler, "resultHandler");
@@ -158,6 +447,7 @@ public abstract class FormImpl<R extends FormResponse> implements Form {
     @Override
     public B resultHandler(@NonNull BiConsumer<F, FormResponseResult<R>> resultHandler) {
       this.selectedResultHandler = Objects.requireNonNull(resultHandler, "resultHandler");
+      this.selectedResultTypes = EnumSet.allOf(ResultType.class);
       return self();
     }
 
@@ -175,58 +465,91 @@ public abstract class FormImpl<R extends FormResponse> implements Form {
       EnumSet<ResultType> selected = EnumSet.noneOf(ResultType.class);
       selected.addAll(Arrays.asList(selectedTypes));
 
-      this.selectedResultHandler =
-          (form, response) -> {
-            if (selected.contains(response.responseType())) {
-              resultHandler.accept(form, response);
-            }
-          };
+      this.selectedResultHandler = resultHandler;
+      this.selectedResultTypes = selected;
       return self();
     }
 
     @Override
     public abstract @NonNull F build();
 
+    /** Applies the settings of this builder that are not specific to the form type. */
+    protected void applySettings(@NonNull FormImpl<R> impl) {
+      impl.cacheJsonData(cacheJsonData);
+      impl.handlerExecutor(handlerExecutor);
+    }
+
     protected void setResponseHandler(@NonNull FormImpl<R> impl, @NonNull F form) {
       setResponseHandler(impl, form, null);
     }
 
     protected void setResponseHandler(
         @NonNull FormImpl<R> impl, @NonNull F form, @Nullable Consumer<R> validHandler) {
-      impl.resultHandler(
-          result -> {
-            if (selectedResultHandler != null) {
-              selectedResultHandler.accept(form, result);
-            }
-
-            if (result.isClosed()) {
-              if (closedResultHandlerConsumer != null) {
-                closedResultHandlerConsumer.accept(form);
-              }
-              if (closedOrInvalidResultHandler != null) {
-                closedOrInvalidResultHandler.accept(form, result);
-              }
-            }
-
-            if (result.isInvalid()) {
-              if (invalidResultHandler != null) {
-                invalidResultHandler.accept(form, (InvalidFormResponseResult<R>) result);
-              }
-              if (closedOrInvalidResultHandler != null) {
-                closedOrInvalidResultHandler.accept(form, result);
-              }
-            }
-
-            if (result.isValid()) {
-              R response = ((ValidFormResponseResult<R>) result).response();
-              if (validResultHandler != null) {
-                validResultHandler.accept(form, response);
-              }
-              if (validHandler != null) {
-                validHandler.accept(response);
-              }
-            }
-          });
+      impl.resultHandler(compileResultHandler(validHandler));
+    }
+
+    /**
+     * Combines the result handlers that have been set into one handler per result type, so that
+     * handling a result doesn't have to check every handler. The handlers receive the form they
+     * are called for (instead of the form that was built), so that they can be shared with forms
+     * derived from the built form.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BiConsumer<FormImpl<R>, FormResponseResult<R>> compileResultHandler(
+        @Nullable Consumer<R> validHandler) {
+      BiConsumer<FormImpl<R>, FormResponseResult<R>>[] handlers =
+          new BiConsumer[RESULT_TYPES.length];
+
+      if (selectedResultHandler != null) {
+        BiConsumer<F, FormResponseResult<R>> handler = selectedResultHandler;
+        for (ResultType type : selectedResultTypes) {
+          handlers[type.ordinal()] = (form, result) -> handler.accept((F) form, result);
+        }
+      }
+
+      if (closedResultHandlerConsumer != null) {
+        Consumer<F> handler = closedResultHandlerConsumer;
+        addHandler(handlers, ResultType.CLOSED, (form, $) -> handler.accept((F) form));
+      }
+      if (invalidResultHandler != null) {
+        BiConsumer<F, InvalidFormResponseResult<R>> handler = invalidResultHandler;
+        addHandler(
+            handlers,
+            ResultType.INVALID,
+            (form, result) -> handler.accept((F) form, (InvalidFormResponseResult<R>) result));
+      }
+      if (closedOrInvalidResultHandler != null) {
+        BiConsumer<F, FormResponseResult<R>> handler = closedOrInvalidResultHandler;
+        BiConsumer<FormImpl<R>, FormResponseResult<R>> formHandler =
+            (form, result) -> handler.accept((F) form, result);
+        addHandler(handlers, ResultType.CLOSED, formHandler);
+        addHandler(handlers, ResultType.INVALID, formHandler);
+      }
+
+      if (validResultHandler != null) {
+        BiConsumer<F, R> handler = validResultHandler;
+        addHandler(
+            handlers,
+            ResultType.VALID,
+            (form, result) ->
+                handler.accept((F) form, ((ValidFormResponseResult<R>) result).response()));
+      }
+      if (validHandler != null) {
+        addHandler(
+            handlers,
+            ResultType.VALID,
+            ($, result) -> validHandler.accept(((ValidFormResponseResult<R>) result).response()));
+      }
+
+      return new ResultDispatcher<>(handlers);
+    }
+
+    private static <R extends FormResponse> void addHandler(
+        BiConsumer<FormImpl<R>, FormResponseResult<R>>[] handlers,
+        ResultType type,
+        BiConsumer<FormImpl<R>, FormResponseResult<R>> handler) {
+      BiConsumer<FormImpl<R>, FormResponseResult<R>> current = handlers[type.ordinal()];
+      handlers[type.ordinal()] = current != null ? current.andThen(handler) : handler;
     }
 
     protected @NonNull String translate(@NonNull String text) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.form.impl;
+
+import java.util.function.BiConsumer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.cumulus.response.FormResponse;
+import org.geysermc.cumulus.response.result.FormResponseResult;
+import org.geysermc.cumulus.response.result.ResultType;
+
+/**
+ * A result handler that has one handler for every {@link ResultType}, so calling the right
+ * handlers for a result is a single array lookup. Result types without handlers get a handler
+ * that does nothing.
+ */
+final class ResultDispatcher<R extends FormResponse>
+    implements BiConsumer<FormImpl<R>, FormResponseResult<R>> {
+  private static final BiConsumer<Object, Object> NO_OP = ($, $$) -> {};
+
+  private final BiConsumer<FormImpl<R>, FormResponseResult<R>>[] handlers;
+
+  @SuppressWarnings("unchecked")
+  ResultDispatcher(@Nullable BiConsumer<FormImpl<R>, FormResponseResult<R>>[] handlers) {
+    this.handlers = handlers.clone();
+    for (int i = 0; i < this.handlers.length; i++) {
+      if (this.handlers[i] == null) {
+        this.handlers[i] = (BiConsumer<FormImpl<R>, FormResponseResult<R>>) (Object) NO_OP;
+      }
+    }
+  }
+
+  @Override
+  public void accept(FormImpl<R> form, FormResponseResult<R> result) {
+    handlers[result.responseType().ordinal()].accept(form, result);
+  }
+}
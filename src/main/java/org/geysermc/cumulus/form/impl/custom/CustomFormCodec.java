@@ -24,27 +24,33 @@
  */
 package org.geysermc.cumulus.form.impl.custom;
 
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.Forms;
 import org.geysermc.cumulus.component.Component;
+import org.geysermc.cumulus.component.impl.ComponentValidators;
+import org.geysermc.cumulus.component.impl.ComponentWriter;
 import org.geysermc.cumulus.component.util.ComponentType;
+import org.geysermc.cumulus.component.util.ComponentValidator;
 import org.geysermc.cumulus.form.CustomForm;
+import org.geysermc.cumulus.form.impl.FormImpl;
 import org.geysermc.cumulus.form.util.FormType;
 import org.geysermc.cumulus.form.util.impl.FormCodecImpl;
 import org.geysermc.cumulus.response.CustomFormResponse;
 import org.geysermc.cumulus.response.impl.CustomFormResponseImpl;
 import org.geysermc.cumulus.response.result.FormResponseResult;
-import org.geysermc.cumulus.util.AbsentComponent;
+import org.geysermc.cumulus.response.result.InvalidFormResponseResult;
+import org.geysermc.cumulus.response.result.InvalidFormResponseResult.Reason;
 import org.geysermc.cumulus.util.FormImage;
 import org.geysermc.cumulus.util.JsonUtils;
 import org.geysermc.cumulus.util.impl.FormImageAdaptor;
@@ -52,7 +58,7 @@ import org.geysermc.cumulus.util.impl.FormImageImpl;
 
 public final class CustomFormCodec extends FormCodecImpl<CustomForm, CustomFormResponse> {
   CustomFormCodec() {
-    super(CustomForm.class, FormType.CUSTOM_FORM);
+    super(CustomForm.class, FormType.CUSTOM_FORM, null);
   }
 
   @Override
@@ -93,96 +99,182 @@ public final class CustomFormCodec extends FormCodecImpl<CustomForm, CustomFormR
     result.add("content", content);
   }
 
+  @Override
+  protected void writeForm(CustomForm form, JsonWriter out) throws IOException {
+    out.name("title").value(form.title());
+    if (form.icon() != null) {
+      out.name("icon");
+      FormImageAdaptor.writeImage(out, form.icon());
+    }
+
+    // remove optional components from the content
+    out.name("content");
+    ComponentWriter.writeComponents(out, form.content());
+  }
+
   @Override
   protected FormResponseResult<CustomFormResponse> deserializeResponse(
       @NonNull CustomForm form, @NonNull String responseData) {
 
-    JsonArray responses = gson.fromJson(responseData, JsonArray.class);
-    int responsesSize = responses.size();
-
-    List<Object> mappedResponse = new ArrayList<>();
+    CustomFormResponseReader reader = new CustomFormResponseReader(responseData);
+    if (!reader.beginArray()) {
+      return FormResponseResult.invalid(Reason.NOT_AN_ARRAY);
+    }
 
-    int responseIndex = 0;
     List<Component> content = form.content();
-    for (int i = 0; i < content.size(); i++) {
+    CustomFormResponseImpl.Builder mappedResponse = CustomFormResponseImpl.builder(content.size());
+
+    boolean lazy = form instanceof CustomFormImpl && ((CustomFormImpl) form).lazyResponses();
+    int[] valuePositions = lazy ? new int[content.size()] : null;
+
+    // the client only sends values for the components that are present
+    int[] presentIndexes =
+        form instanceof CustomFormImpl
+            ? ((CustomFormImpl) form).presentComponentIndexes()
+            : FormImpl.presentIndexes(content);
+
+    SingleValueSink sink = new SingleValueSink(mappedResponse);
+    int nextSlot = 0;
+    for (int i : presentIndexes) {
+      while (nextSlot++ < i) {
+        mappedResponse.absent();
+      }
       Component component = content.get(i);
-      if (component == null) {
-        mappedResponse.add(AbsentComponent.instance());
-        continue;
+
+      int token = reader.next();
+      if (token == CustomFormResponseReader.MALFORMED) {
+        return FormResponseResult.invalid(Reason.MALFORMED_JSON);
+      }
+      if (token == CustomFormResponseReader.END_ARRAY) {
+        return FormResponseResult.invalid(Reason.NOT_ENOUGH_COMPONENTS);
       }
 
-      if (responseIndex >= responsesSize) {
-        return FormResponseResult.invalid(-1, "Response doesn't contain enough components");
+      ComponentType type = component.type();
+      if (type != ComponentType.LABEL && !isPrimitive(token)) {
+        return InvalidFormResponseResult.of(i, Reason.NOT_A_PRIMITIVE, type.componentName());
+      }
+
+      if (lazy && type != ComponentType.LABEL) {
+        // only the structure is checked now, the value is validated when it's accessed
+        valuePositions[i] = reader.valuePosition();
+        mappedResponse.unresolved();
+        continue;
       }
 
-      try {
-        JsonElement response = responses.get(responseIndex++); // note the index increment
-        mappedResponse.add(validateComponent(component, response));
-      } catch (Exception exception) {
-        // looks like it didn't pass the validation.
-        return FormResponseResult.invalid(i, exception.getMessage());
+      String error = sink.validate(component, reader);
+      if (error != null) {
+        return InvalidFormResponseResult.of(i, Reason.INVALID_VALUE, error);
       }
     }
 
-    if (responseIndex < responsesSize) {
-      return FormResponseResult.invalid(-1, "Response contains too many elements");
+    while (nextSlot++ < content.size()) {
+      mappedResponse.absent();
+    }
+
+    int token = reader.next();
+    if (token == CustomFormResponseReader.MALFORMED) {
+      return FormResponseResult.invalid(Reason.MALFORMED_JSON);
+    }
+    if (token != CustomFormResponseReader.END_ARRAY) {
+      return FormResponseResult.invalid(Reason.TOO_MANY_ELEMENTS);
+    }
+    if (!reader.endDocument()) {
+      return FormResponseResult.invalid(Reason.MALFORMED_JSON);
+    }
+
+    if (lazy) {
+      return FormResponseResult.valid(
+          mappedResponse.build(new LazyValueResolver(content, responseData, valuePositions)));
     }
+    return FormResponseResult.valid(mappedResponse.build());
+  }
 
-    return FormResponseResult.valid(CustomFormResponseImpl.of(mappedResponse));
+  /** Returns true if the token is a json primitive other than null. */
+  private static boolean isPrimitive(int token) {
+    return token != CustomFormResponseReader.NULL && token != CustomFormResponseReader.STRUCTURE;
   }
 
-  private Object validateComponent(Component component, JsonElement element) {
-    ComponentType type = component.type();
-    if (type == ComponentType.LABEL) {
-      if (element.isJsonNull()) {
-        return null;
+  /** Validates and converts the values of a lazy response from the raw response when accessed. */
+  private static final class LazyValueResolver implements CustomFormResponseImpl.ValueResolver {
+    private final List<Component> content;
+    private final String responseData;
+    private final int[] valuePositions;
+
+    LazyValueResolver(List<Component> content, String responseData, int[] valuePositions) {
+      this.content = content;
+      this.responseData = responseData;
+      this.valuePositions = valuePositions;
+    }
+
+    @Override
+    public void resolve(int index, CustomFormResponseImpl.@NonNull Builder target) {
+      CustomFormResponseReader reader = new CustomFormResponseReader(responseData);
+      reader.seek(valuePositions[index]);
+      reader.next();
+
+      // the structure of the value has already been checked when the response was received
+      String error = new SingleValueSink(target).validate(content.get(index), reader);
+      if (error != null) {
+        throw new IllegalStateException(error);
       }
-      throw new IllegalStateException("Return value of label should be null");
-    }
-
-    if (!element.isJsonPrimitive()) {
-      // throw our own exception
-      throw new IllegalStateException(
-          String.format("Return value of %s should be a json primitive", type.componentName()));
-    }
-
-    JsonPrimitive value = element.getAsJsonPrimitive();
-
-    // todo (for a future version) make a separate validator class for each component
-    switch (type) {
-      case INPUT:
-        if (value.isString()) {
-          return value.getAsString();
-        }
-        throw new IllegalStateException("Return value of input should be a string");
-      case SLIDER:
-        if (value.isNumber()) {
-          return value.getAsFloat();
-        }
-        throw new IllegalStateException("Return value of slider should be a float");
-      case STEP_SLIDER:
-        if (value.isNumber()) {
-          return value.getAsInt();
-        }
-        throw new IllegalStateException("Return value of step slider should be an integer");
-      case TOGGLE:
-        if (value.isBoolean()) {
-          return value.getAsBoolean();
-        }
-        throw new IllegalStateException("Return value of toggle should be a boolean");
-      case DROPDOWN:
-        if (value.isNumber()) {
-          return value.getAsInt();
-        }
-        throw new IllegalStateException("Return value of dropdown should be an integer");
-      default:
-        throw new IllegalStateException("Type " + type + " does not have validation implemented");
     }
   }
 
-  @Override
-  protected void initializeGson(GsonBuilder builder) {
-    super.initializeGson(builder);
-    builder.registerTypeAdapter(FormImage.class, new FormImageAdaptor());
+  /**
+   * Passes the value a validator accepted to the response, while making sure the validator adds
+   * exactly one value. Otherwise the values of the following components would be shifted, or
+   * overwritten when resolving a lazy value.
+   */
+  private static final class SingleValueSink implements ComponentValidator.ValueSink {
+    private final CustomFormResponseImpl.Builder target;
+    private boolean filled;
+
+    SingleValueSink(CustomFormResponseImpl.Builder target) {
+      this.target = target;
+    }
+
+    @Nullable String validate(Component component, ComponentValidator.Value value) {
+      filled = false;
+      String error =
+          ComponentValidators.validatorFor(component.type()).validate(component, value, this);
+      if (error == null && !filled) {
+        throw new IllegalStateException(
+            "The validator of " + component.type().componentName() + " didn't add a value");
+      }
+      return error;
+    }
+
+    private CustomFormResponseImpl.Builder slot() {
+      if (filled) {
+        throw new IllegalStateException("A validator can only add one value");
+      }
+      filled = true;
+      return target;
+    }
+
+    @Override
+    public void label() {
+      slot().label();
+    }
+
+    @Override
+    public void intValue(int value) {
+      slot().intValue(value);
+    }
+
+    @Override
+    public void floatValue(float value) {
+      slot().floatValue(value);
+    }
+
+    @Override
+    public void booleanValue(boolean value) {
+      slot().booleanValue(value);
+    }
+
+    @Override
+    public void stringValue(@NonNull String value) {
+      slot().stringValue(value);
+    }
   }
 }
@@ -41,4 +41,19 @@ public final class CustomFormDefinition
   public static CustomFormDefinition instance() {
     return INSTANCE;
   }
+
+  @Override
+  public void warmUp() {
+    CustomForm form =
+        CustomForm.builder()
+            .title("")
+            .label("")
+            .input("")
+            .toggle("")
+            .slider("", 0, 1)
+            .dropdown("", "")
+            .stepSlider("", "")
+            .build();
+    warmUp(form, "[null,\"\",true,1,0,0]");
+  }
 }
@@ -44,17 +44,43 @@ import org.geysermc.cumulus.form.CustomForm;
 import org.geysermc.cumulus.form.impl.FormImpl;
 import org.geysermc.cumulus.response.CustomFormResponse;
 import org.geysermc.cumulus.util.FormImage;
+import org.geysermc.cumulus.util.impl.ReplacedElementList;
 
 public final class CustomFormImpl extends FormImpl<CustomFormResponse> implements CustomForm {
 
   private final FormImage icon;
   private final List<Component> content;
+  private final int[] presentComponentIndexes;
+  private boolean lazyResponses;
 
   public CustomFormImpl(
       @NonNull String title, @Nullable FormImage icon, @NonNull List<Component> content) {
     super(title);
     this.icon = icon;
     this.content = Collections.unmodifiableList(content);
+    this.presentComponentIndexes = presentIndexes(this.content);
+  }
+
+  /**
+   * Creates a form derived from the given form, copying the fields specific to custom forms. The
+   * given content list has to be unmodifiable already, so it can be shared between forms.
+   */
+  private CustomFormImpl(
+      @NonNull CustomFormImpl source,
+      @NonNull String title,
+      @Nullable FormImage icon,
+      @NonNull List<Component> content) {
+    super(title);
+    this.icon = icon;
+    this.content = content;
+    this.presentComponentIndexes =
+        content == source.content ? source.presentComponentIndexes : presentIndexes(content);
+    this.lazyResponses = source.lazyResponses;
+  }
+
+  @Override
+  public @NonNull CustomFormDefinition definition() {
+    return CustomFormDefinition.instance();
   }
 
   @Override
@@ -67,12 +93,54 @@ public final class CustomFormImpl extends FormImpl<CustomFormResponse> implement
     return content;
   }
 
+  /**
+   * Sets whether the values of responses should only be validated and converted when they are
+   * accessed, instead of when the response is received.
+   */
+  public void lazyResponses(boolean lazyResponses) {
+    this.lazyResponses = lazyResponses;
+  }
+
+  /** Returns whether the values of responses are validated and converted when accessed. */
+  public boolean lazyResponses() {
+    return lazyResponses;
+  }
+
+  /**
+   * Returns the indexes of the components that are present, which is what the client knows about.
+   */
+  int[] presentComponentIndexes() {
+    return presentComponentIndexes;
+  }
+
+  @Override
+  public @NonNull CustomForm withTitle(@NonNull String title) {
+    return deriveForm(title, icon, content);
+  }
+
+  @Override
+  public @NonNull CustomForm withIcon(@Nullable FormImage icon) {
+    return deriveForm(title(), icon, content);
+  }
+
+  @Override
+  public @NonNull CustomForm withComponent(int index, @Nullable Component component) {
+    List<Component> content = ReplacedElementList.of(this.content, index, component);
+    return deriveForm(title(), icon, content);
+  }
+
+  private CustomFormImpl deriveForm(
+      String title, @Nullable FormImage icon, List<Component> unmodifiableContent) {
+    return derive(new CustomFormImpl(this, title, icon, unmodifiableContent));
+  }
+
   public static final class Builder
       extends FormImpl.Builder<CustomForm.Builder, CustomForm, CustomFormResponse>
       implements CustomForm.Builder {
 
     private final List<Component> components = new ArrayList<>();
     private FormImage icon;
+    private boolean lazyResponses;
 
     @Override
     public Builder icon(@NonNull FormImage image) {
@@ -86,6 +154,12 @@ public final class CustomFormImpl extends FormImpl<CustomFormResponse> implement
       return this;
     }
 
+    @Override
+    public Builder lazyResponses(boolean lazyResponses) {
+      this.lazyResponses = lazyResponses;
+      return this;
+    }
+
     @Override
     public Builder iconPath(@NonNull String path) {
       return icon(FormImage.Type.PATH, path);
@@ -386,7 +460,10 @@ public final class CustomFormImpl extends FormImpl<CustomFormResponse> implement
 
     @Override
     public @NonNull CustomForm build() {
-      CustomFormImpl form = new CustomFormImpl(title, icon, components);
+      // copied, as the present component indexes wouldn't follow later changes made to this builder
+      CustomFormImpl form = new CustomFormImpl(title, icon, new ArrayList<>(components));
+      form.lazyResponses(lazyResponses);
+      applySettings(form);
       setResponseHandler(form, form);
       return form;
     }
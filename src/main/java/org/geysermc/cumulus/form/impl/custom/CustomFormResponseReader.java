@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.form.impl.custom;
+
+import java.math.BigDecimal;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.geysermc.cumulus.component.util.ComponentValidator;
+import org.geysermc.cumulus.component.util.ComponentValidator.ValueType;
+
+/**
+ * A single-pass reader for the json array the client sends as response to a custom form. Values are
+ * read one at a time and their content is only converted when requested, so no intermediate
+ * JsonArray has to be created.
+ */
+final class CustomFormResponseReader implements ComponentValidator.Value {
+  static final int MALFORMED = -1;
+  static final int END_ARRAY = 0;
+  static final int NULL = 1;
+  static final int TRUE = 2;
+  static final int FALSE = 3;
+  static final int NUMBER = 4;
+  static final int STRING = 5;
+  /** A nested array or object. These are never valid values, so they're not read any further. */
+  static final int STRUCTURE = 6;
+
+  private static final float[] POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f};
+  /** The max amount of digits that always fit in the significand of a float. */
+  private static final int MAX_EXACT_FLOAT_DIGITS = 7;
+
+  private final String data;
+  private final int length;
+  private int position;
+  private boolean firstValue = true;
+  private int valuePosition;
+  private int token = MALFORMED;
+
+  // the bounds of the last read number or string (for strings: excluding the quotes)
+  private int valueStart;
+  private int valueEnd;
+
+  // details of the last read number or string
+  private boolean negative;
+  private int digitCount;
+  private int fractionDigitCount;
+  private boolean hasExponent;
+  private boolean hasEscapes;
+
+  CustomFormResponseReader(@NonNull String data) {
+    this.data = data;
+    this.length = data.length();
+  }
+
+  /** Returns true if the response starts with a json array. */
+  boolean beginArray() {
+    skipWhitespace();
+    if (position < length && data.charAt(position) == '[') {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Reads the next value of the array and returns the type of the value, or {@link #END_ARRAY} when
+   * the end of the array has been reached.
+   */
+  int next() {
+    return token = readNext();
+  }
+
+  private int readNext() {
+    skipWhitespace();
+    if (position >= length) {
+      return MALFORMED;
+    }
+
+    char current = data.charAt(position);
+    if (current == ']') {
+      position++;
+      return END_ARRAY;
+    }
+
+    if (!firstValue) {
+      if (current != ',') {
+        return MALFORMED;
+      }
+      position++;
+      skipWhitespace();
+      if (position >= length) {
+        return MALFORMED;
+      }
+      current = data.charAt(position);
+    }
+    firstValue = false;
+    valuePosition = position;
+
+    switch (current) {
+      case 'n':
+        return readLiteral("null", NULL);
+      case 't':
+        return readLiteral("true", TRUE);
+      case 'f':
+        return readLiteral("false", FALSE);
+      case '"':
+        return readString();
+      case '[':
+      case '{':
+        return STRUCTURE;
+      default:
+        if (current == '-' || isDigit(current)) {
+          return readNumber();
+        }
+        return MALFORMED;
+    }
+  }
+
+  /** Returns the position of the last value returned by {@link #next()}. */
+  int valuePosition() {
+    return valuePosition;
+  }
+
+  /**
+   * Moves the reader to a position returned by {@link #valuePosition()}, so that the next call to
+   * {@link #next()} reads that value again.
+   */
+  void seek(int valuePosition) {
+    this.position = valuePosition;
+    this.firstValue = true;
+  }
+
+  /** Returns true if there is nothing but whitespace left after the end of the array. */
+  boolean endDocument() {
+    skipWhitespace();
+    return position == length;
+  }
+
+  @Override
+  public @NonNull ValueType type() {
+    switch (token) {
+      case NULL:
+        return ValueType.NULL;
+      case TRUE:
+      case FALSE:
+        return ValueType.BOOLEAN;
+      case NUMBER:
+        return ValueType.NUMBER;
+      case STRING:
+        return ValueType.STRING;
+      case STRUCTURE:
+        return ValueType.STRUCTURE;
+      default:
+        throw new IllegalStateException("The last read token is not a value");
+    }
+  }
+
+  @Override
+  public boolean booleanValue() {
+    return token == TRUE;
+  }
+
+  /** Returns true if the last read number is an integer that fits in an int. */
+  @Override
+  public boolean isInt() {
+    if (hasExponent || fractionDigitCount != 0) {
+      return false;
+    }
+    int start = negative ? valueStart + 1 : valueStart;
+    // leading zeros don't count towards the magnitude
+    while (start < valueEnd - 1 && data.charAt(start) == '0') {
+      start++;
+    }
+    if (valueEnd - start > 10) {
+      return false;
+    }
+    long value = 0;
+    for (int i = start; i < valueEnd; i++) {
+      value = value * 10 + (data.charAt(i) - '0');
+    }
+    return negative ? -value >= Integer.MIN_VALUE : value <= Integer.MAX_VALUE;
+  }
+
+  /** Returns the last read number as an int, the same way Gson's getAsInt would. */
+  @Override
+  public int intValue() {
+    // Gson parses it as a long when possible and narrows it afterwards
+    if (!hasExponent && fractionDigitCount == 0 && digitCount <= 18) {
+      int start = negative ? valueStart + 1 : valueStart;
+      long value = 0;
+      for (int i = start; i < valueEnd; i++) {
+        value = value * 10 + (data.charAt(i) - '0');
+      }
+      return (int) (negative ? -value : value);
+    }
+    return new BigDecimal(data.substring(valueStart, valueEnd)).intValue();
+  }
+
+  /** Returns the last read number as a float, the same way Gson's getAsFloat would. */
+  @Override
+  public float floatValue() {
+    // when the significand and the power of ten are both exactly representable,
+    // a single division is correctly rounded and thus equal to Float.parseFloat
+    if (!hasExponent && digitCount <= MAX_EXACT_FLOAT_DIGITS) {
+      int start = negative ? valueStart + 1 : valueStart;
+      int significand = 0;
+      for (int i = start; i < valueEnd; i++) {
+        char current = data.charAt(i);
+        if (current != '.') {
+          significand = significand * 10 + (current - '0');
+        }
+      }
+      float value = significand / POWERS_OF_TEN[fractionDigitCount];
+      return negative ? -value : value;
+    }
+    return Float.parseFloat(data.substring(valueStart, valueEnd));
+  }
+
+  /** Returns the last read string with its escape sequences resolved. */
+  @Override
+  public @NonNull String stringValue() {
+    if (!hasEscapes) {
+      return data.substring(valueStart, valueEnd);
+    }
+
+    StringBuilder builder = new StringBuilder(valueEnd - valueStart);
+    for (int i = valueStart; i < valueEnd; i++) {
+      char current = data.charAt(i);
+      if (current != '\\') {
+        builder.append(current);
+        continue;
+      }
+
+      char escaped = data.charAt(++i);
+      switch (escaped) {
+        case 'b':
+          builder.append('\b');
+          break;
+        case 'f':
+          builder.append('\f');
+          break;
+        case 'n':
+          builder.append('\n');
+          break;
+        case 'r':
+          builder.append('\r');
+          break;
+        case 't':
+          builder.append('\t');
+          break;
+        case 'u':
+          builder.append((char) Integer.parseInt(data.substring(i + 1, i + 5), 16));
+          i += 4;
+          break;
+        default:
+          // '"', '\\' and '/'
+          builder.append(escaped);
+      }
+    }
+    return builder.toString();
+  }
+
+  private int readLiteral(String literal, int type) {
+    if (!data.startsWith(literal, position)) {
+      return MALFORMED;
+    }
+    position += literal.length();
+    return type;
+  }
+
+  private int readString() {
+    valueStart = ++position; // skip the opening quote
+    hasEscapes = false;
+
+    while (position < length) {
+      char current = data.charAt(position);
+      if (current == '"') {
+        valueEnd = position++;
+        return STRING;
+      }
+
+      if (current == '\\') {
+        hasEscapes = true;
+        if (++position >= length) {
+          return MALFORMED;
+        }
+
+        switch (data.charAt(position)) {
+          case '"':
+          case '\\':
+          case '/':
+          case 'b':
+          case 'f':
+          case 'n':
+          case 'r':
+          case 't':
+            break;
+          case 'u':
+            if (position + 4 >= length) {
+              return MALFORMED;
+            }
+            for (int i = 1; i <= 4; i++) {
+              if (Character.digit(data.charAt(position + i), 16) == -1) {
+                return MALFORMED;
+              }
+            }
+            position += 4;
+            break;
+          default:
+            return MALFORMED;
+        }
+      }
+      position++;
+    }
+    return MALFORMED; // unterminated string
+  }
+
+  private int readNumber() {
+    valueStart = position;
+    negative = data.charAt(position) == '-';
+    digitCount = 0;
+    fractionDigitCount = 0;
+    hasExponent = false;
+
+    if (negative) {
+      position++;
+    }
+
+    int integerDigits = skipDigits();
+    if (integerDigits == 0) {
+      return MALFORMED;
+    }
+    digitCount = integerDigits;
+
+    if (position < length && data.charAt(position) == '.') {
+      position++;
+      fractionDigitCount = skipDigits();
+      if (fractionDigitCount == 0) {
+        return MALFORMED;
+      }
+      digitCount += fractionDigitCount;
+    }
+
+    if (position < length && (data.charAt(position) == 'e' || data.charAt(position) == 'E')) {
+      hasExponent = true;
+      position++;
+      if (position < length && (data.charAt(position) == '+' || data.charAt(position) == '-')) {
+        position++;
+      }
+      if (skipDigits() == 0) {
+        return MALFORMED;
+      }
+    }
+
+    valueEnd = position;
+    return NUMBER;
+  }
+
+  private int skipDigits() {
+    int start = position;
+    while (position < length && isDigit(data.charAt(position))) {
+      position++;
+    }
+    return position - start;
+  }
+
+  private void skipWhitespace() {
+    while (position < length) {
+      char current = data.charAt(position);
+      if (current != ' ' && current != '\t' && current != '\n' && current != '\r') {
+        return;
+      }
+      position++;
+    }
+  }
+
+  private static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+}
@@ -27,18 +27,22 @@ package org.geysermc.cumulus.form.impl.modal;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.cumulus.form.ModalForm;
 import org.geysermc.cumulus.form.util.FormType;
 import org.geysermc.cumulus.form.util.impl.FormCodecImpl;
+import org.geysermc.cumulus.form.util.impl.ResponseScanner;
 import org.geysermc.cumulus.response.ModalFormResponse;
 import org.geysermc.cumulus.response.impl.ModalFormResponseImpl;
 import org.geysermc.cumulus.response.result.FormResponseResult;
+import org.geysermc.cumulus.response.result.InvalidFormResponseResult.Reason;
 import org.geysermc.cumulus.util.JsonUtils;
 
 public class ModalFormCodec extends FormCodecImpl<ModalForm, ModalFormResponse> {
   ModalFormCodec() {
-    super(ModalForm.class, FormType.MODAL_FORM);
+    super(ModalForm.class, FormType.MODAL_FORM, null);
   }
 
   @Override
@@ -58,17 +62,24 @@ public class ModalFormCodec extends FormCodecImpl<ModalForm, ModalFormResponse>
     result.addProperty("button2", form.button2());
   }
 
+  @Override
+  protected void writeForm(ModalForm form, JsonWriter out) throws IOException {
+    out.name("title").value(form.title());
+    out.name("content").value(form.content());
+    out.name("button1").value(form.button1());
+    out.name("button2").value(form.button2());
+  }
+
   @Override
   public FormResponseResult<ModalFormResponse> deserializeResponse(
       @NonNull ModalForm form, @NonNull String responseData) {
 
-    responseData = responseData.trim();
-
-    if ("true".equals(responseData)) {
+    int value = ResponseScanner.scanBoolean(responseData);
+    if (value == 1) {
       return FormResponseResult.valid(ModalFormResponseImpl.of(0, form.button1()));
-    } else if ("false".equals(responseData)) {
+    } else if (value == 0) {
       return FormResponseResult.valid(ModalFormResponseImpl.of(1, form.button2()));
     }
-    return FormResponseResult.invalid(-1, "Response wasn't a boolean");
+    return FormResponseResult.invalid(Reason.NOT_A_BOOLEAN);
   }
 }
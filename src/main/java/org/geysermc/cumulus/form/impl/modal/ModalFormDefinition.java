@@ -41,4 +41,9 @@ public final class ModalFormDefinition
   public static ModalFormDefinition instance() {
     return INSTANCE;
   }
+
+  @Override
+  public void warmUp() {
+    warmUp(ModalForm.builder().title("").content("").button1("").button2("").build(), "true");
+  }
 }
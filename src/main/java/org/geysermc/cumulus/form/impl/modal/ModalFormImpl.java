@@ -47,6 +47,11 @@ public final class ModalFormImpl extends FormImpl<ModalFormResponse> implements
     this.button2 = Objects.requireNonNull(button2, "button2");
   }
 
+  @Override
+  public @NonNull ModalFormDefinition definition() {
+    return ModalFormDefinition.instance();
+  }
+
   @Override
   public @NonNull String content() {
     return content;
@@ -62,6 +67,26 @@ public final class ModalFormImpl extends FormImpl<ModalFormResponse> implements
     return button2;
   }
 
+  @Override
+  public @NonNull ModalForm withTitle(@NonNull String title) {
+    return derive(new ModalFormImpl(title, content, button1, button2));
+  }
+
+  @Override
+  public @NonNull ModalForm withContent(@NonNull String content) {
+    return derive(new ModalFormImpl(title(), content, button1, button2));
+  }
+
+  @Override
+  public @NonNull ModalForm withButton1(@NonNull String button1) {
+    return derive(new ModalFormImpl(title(), content, button1, button2));
+  }
+
+  @Override
+  public @NonNull ModalForm withButton2(@NonNull String button2) {
+    return derive(new ModalFormImpl(title(), content, button1, button2));
+  }
+
   public static final class Builder
       extends FormImpl.Builder<ModalForm.Builder, ModalForm, ModalFormResponse>
       implements ModalForm.Builder {
@@ -87,6 +112,7 @@ public final class ModalFormImpl extends FormImpl<ModalFormResponse> implements
     @Override
     public @NonNull ModalForm build() {
       ModalFormImpl form = new ModalFormImpl(title, content, button1, button2);
+      applySettings(form);
       setResponseHandler(form, form);
       return form;
     }
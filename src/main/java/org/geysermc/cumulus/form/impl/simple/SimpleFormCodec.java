@@ -24,28 +24,31 @@
  */
 package org.geysermc.cumulus.form.impl.simple;
 
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.geysermc.cumulus.component.ButtonComponent;
+import org.geysermc.cumulus.component.impl.ComponentWriter;
 import org.geysermc.cumulus.form.SimpleForm;
+import org.geysermc.cumulus.form.impl.FormImpl;
 import org.geysermc.cumulus.form.util.FormType;
 import org.geysermc.cumulus.form.util.impl.FormCodecImpl;
+import org.geysermc.cumulus.form.util.impl.ResponseScanner;
 import org.geysermc.cumulus.response.SimpleFormResponse;
 import org.geysermc.cumulus.response.impl.SimpleFormResponseImpl;
 import org.geysermc.cumulus.response.result.FormResponseResult;
-import org.geysermc.cumulus.util.FormImage;
+import org.geysermc.cumulus.response.result.InvalidFormResponseResult.Reason;
 import org.geysermc.cumulus.util.JsonUtils;
-import org.geysermc.cumulus.util.impl.FormImageAdaptor;
 
 public final class SimpleFormCodec extends FormCodecImpl<SimpleForm, SimpleFormResponse> {
   SimpleFormCodec() {
-    super(SimpleForm.class, FormType.SIMPLE_FORM);
+    super(SimpleForm.class, FormType.SIMPLE_FORM, null);
   }
 
   @Override
@@ -76,51 +79,43 @@ public final class SimpleFormCodec extends FormCodecImpl<SimpleForm, SimpleFormR
     result.add("buttons", buttons);
   }
 
+  @Override
+  protected void writeForm(SimpleForm form, JsonWriter out) throws IOException {
+    out.name("title").value(form.title());
+    out.name("content").value(form.content());
+
+    // remove optional buttons from the button list
+    out.name("buttons");
+    ComponentWriter.writeButtons(out, form.buttons());
+  }
+
   @Override
   protected FormResponseResult<SimpleFormResponse> deserializeResponse(
       @NonNull SimpleForm form, @NonNull String data) {
 
-    data = data.trim();
-
-    int buttonId;
-    try {
-      buttonId = Integer.parseInt(data);
-    } catch (Exception exception) {
-      return FormResponseResult.invalid(
-          -1, "Received invalid integer representing the clicked button");
+    long scannedId = ResponseScanner.scanInt(data);
+    if (scannedId == ResponseScanner.INVALID_INT) {
+      return FormResponseResult.invalid(Reason.INVALID_BUTTON_ID);
     }
 
+    int buttonId = (int) scannedId;
     if (buttonId < 0) {
-      return FormResponseResult.invalid(-1, "Received a clicked button id that's smaller than 0");
+      return FormResponseResult.invalid(Reason.NEGATIVE_BUTTON_ID);
     }
 
     // we could have optional buttons.
-    // let's make sure that the buttonId we received is mapped correctly
-    ButtonComponent button = null;
-    int correctButtonId = -1;
-
-    for (int i = 0; i < form.buttons().size(); i++) {
-      ButtonComponent current = form.buttons().get(i);
-      if (current != null && buttonId-- == 0) {
-        // only decrement buttonId when we pass over a button that is present
-        // once buttonId is zero, i is the correct ID (since i is incremented over null components)
-        button = current;
-        correctButtonId = i;
-        break;
-      }
-    }
-
-    if (button == null) {
-      return FormResponseResult.invalid(
-          -1, "Receiver a button id larger than the amount of buttons in the form");
+    // the client only knows about the buttons that are present, so map it to the correct id
+    int[] presentIndexes =
+        form instanceof SimpleFormImpl
+            ? ((SimpleFormImpl) form).presentButtonIndexes()
+            : FormImpl.presentIndexes(form.buttons());
+
+    if (buttonId >= presentIndexes.length) {
+      return FormResponseResult.invalid(Reason.BUTTON_ID_TOO_LARGE);
     }
 
-    return FormResponseResult.valid(SimpleFormResponseImpl.of(correctButtonId, button));
-  }
-
-  @Override
-  protected void initializeGson(GsonBuilder builder) {
-    super.initializeGson(builder);
-    builder.registerTypeAdapter(FormImage.class, new FormImageAdaptor());
+    int correctButtonId = presentIndexes[buttonId];
+    return FormResponseResult.valid(
+        SimpleFormResponseImpl.of(correctButtonId, form.buttons().get(correctButtonId)));
   }
 }
@@ -41,4 +41,9 @@ public final class SimpleFormDefinition
   public static SimpleFormDefinition instance() {
     return INSTANCE;
   }
+
+  @Override
+  public void warmUp() {
+    warmUp(SimpleForm.builder().title("").content("").button("").build(), "0");
+  }
 }
@@ -20,16 +20,40 @@ import org.geysermc.cumulus.form.SimpleForm;
 import org.geysermc.cumulus.form.impl.FormImpl;
 import org.geysermc.cumulus.response.SimpleFormResponse;
 import org.geysermc.cumulus.util.FormImage;
+import org.geysermc.cumulus.util.impl.ReplacedElementList;
 
 public final class SimpleFormImpl extends FormImpl<SimpleFormResponse> implements SimpleForm {
   private final String content;
   private final List<ButtonComponent> buttons;
+  private final int[] presentButtonIndexes;
 
   public SimpleFormImpl(
       @NonNull String title, @NonNull String content, @NonNull List<ButtonComponent> buttons) {
     super(title);
     this.content = Objects.requireNonNull(content, "content");
     this.buttons = Collections.unmodifiableList(buttons);
+    this.presentButtonIndexes = presentIndexes(this.buttons);
+  }
+
+  /**
+   * Creates a form derived from the given form, copying the fields specific to simple forms. The
+   * given list of buttons has to be unmodifiable already, so it can be shared between forms.
+   */
+  private SimpleFormImpl(
+      @NonNull SimpleFormImpl source,
+      @NonNull String title,
+      @NonNull String content,
+      @NonNull List<ButtonComponent> buttons) {
+    super(title);
+    this.content = Objects.requireNonNull(content, "content");
+    this.buttons = buttons;
+    this.presentButtonIndexes =
+        buttons == source.buttons ? source.presentButtonIndexes : presentIndexes(buttons);
+  }
+
+  @Override
+  public @NonNull SimpleFormDefinition definition() {
+    return SimpleFormDefinition.instance();
   }
 
   @Override
@@ -42,6 +66,32 @@ public final class SimpleFormImpl extends FormImpl<SimpleFormResponse> implement
     return buttons;
   }
 
+  /** Returns the indexes of the buttons that are present, which is what the client knows about. */
+  int[] presentButtonIndexes() {
+    return presentButtonIndexes;
+  }
+
+  @Override
+  public @NonNull SimpleForm withTitle(@NonNull String title) {
+    return deriveForm(title, content, buttons);
+  }
+
+  @Override
+  public @NonNull SimpleForm withContent(@NonNull String content) {
+    return deriveForm(title(), content, buttons);
+  }
+
+  @Override
+  public @NonNull SimpleForm withButton(int index, @Nullable ButtonComponent button) {
+    List<ButtonComponent> buttons = ReplacedElementList.of(this.buttons, index, button);
+    return deriveForm(title(), content, buttons);
+  }
+
+  private SimpleFormImpl deriveForm(
+      String title, String content, List<ButtonComponent> unmodifiableButtons) {
+    return derive(new SimpleFormImpl(this, title, content, unmodifiableButtons));
+  }
+
   public static final class Builder
       extends FormImpl.Builder<SimpleForm.Builder, SimpleForm, SimpleFormResponse>
       implements SimpleForm.Builder {
@@ -145,7 +195,9 @@ public final class SimpleFormImpl extends FormImpl<SimpleFormResponse> implement
 
     @Override
     public @NonNull SimpleForm build() {
-      SimpleFormImpl form = new SimpleFormImpl(title, content, buttons);
+      // copied, as the present button indexes wouldn't follow later changes made to this builder
+      SimpleFormImpl form = new SimpleFormImpl(title, content, new ArrayList<>(buttons));
+      applySettings(form);
       setResponseHandler(
           form,
           form,
@@ -24,10 +24,12 @@
  */
 package org.geysermc.cumulus.form.util;
 
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.common.returnsreceiver.qual.This;
 import org.geysermc.cumulus.form.Form;
 import org.geysermc.cumulus.response.FormResponse;
@@ -85,6 +87,28 @@ public interface FormBuilder<
    */
   @This B translator(@NonNull BiFunction<String, String, String> translator);
 
+  /**
+   * Set whether the serialized form should be cached. When enabled the form is only serialized the
+   * first time it is sent, every next time the cached data is reused. This is useful for forms
+   * that are built once and sent to many players. Default value is <b>false</b>
+   *
+   * @param cacheJsonData true if the serialized form should be cached, false otherwise
+   * @return the form builder
+   */
+  @This B cacheJsonData(boolean cacheJsonData);
+
+  /**
+   * Set the executor the result handlers of this form are called on. Responses are still parsed on
+   * the thread that received them, only calling the handlers is moved to the executor. This is
+   * useful for handlers that perform blocking work, for example database lookups. By default the
+   * handlers are called on the thread that received the response.
+   *
+   * @param executor the executor to call the result handlers on, or null to call them directly
+   * @return the form builder
+   * @since 2.0
+   */
+  @This B handlerExecutor(@Nullable Executor executor);
+
   /**
    * Registers a result handler for the 'closed' result type. Calling this specific method more than
    * once will override the previously defined closed result handler.
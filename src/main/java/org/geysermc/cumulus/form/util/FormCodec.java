@@ -24,8 +24,16 @@
  */
 package org.geysermc.cumulus.form.util;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.function.BiConsumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -51,6 +59,66 @@ public interface FormCodec<F extends Form, R extends FormResponse>
    */
   String jsonData(@NonNull F form);
 
+  /**
+   * Serializes the form directly to the given writer, without building an intermediate JsonObject.
+   * The written data is identical to the data returned by {@link #jsonData(Form)}, provided that the
+   * writer is html safe.
+   *
+   * <p>The default implementation parses the data returned by {@link #jsonData(Form)} and writes
+   * it to the writer. Codecs should override it to write the form directly.
+   *
+   * @param form the form to serialize
+   * @param out the writer to write the serialized form to
+   * @throws IOException when the writer fails to write
+   */
+  default void jsonData(@NonNull F form, @NonNull JsonWriter out) throws IOException {
+    try {
+      new Gson().toJson(new JsonParser().parse(jsonData(form)), out);
+    } catch (JsonIOException exception) {
+      if (exception.getCause() instanceof IOException) {
+        throw (IOException) exception.getCause();
+      }
+      throw exception;
+    }
+  }
+
+  /**
+   * Serializes the form to UTF-8 encoded data that can be used by the Bedrock client to display the
+   * form. When the form caches its serialized data, the returned array is shared between calls and
+   * should not be modified.
+   *
+   * @param form the form to serialize
+   * @return the UTF-8 encoded serialized form
+   */
+  default byte @NonNull [] jsonDataBytes(@NonNull F form) {
+    return jsonData(form).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Serializes the form as UTF-8 directly to the given stream. The stream is flushed but not closed.
+   *
+   * @param form the form to serialize
+   * @param out the stream to write the serialized form to
+   * @throws IOException when the stream fails to write
+   */
+  default void jsonData(@NonNull F form, @NonNull OutputStream out) throws IOException {
+    out.write(jsonDataBytes(form));
+    out.flush();
+  }
+
+  /**
+   * Serializes the form as UTF-8 directly to the given buffer, starting at its current position.
+   *
+   * @param form the form to serialize
+   * @param buffer the buffer to write the serialized form to
+   * @throws java.nio.BufferOverflowException when the buffer doesn't have enough space remaining.
+   *     The position of the buffer is left unchanged, but the bytes after it may have been
+   *     overwritten
+   */
+  default void jsonData(@NonNull F form, @NonNull ByteBuffer buffer) {
+    buffer.put(jsonDataBytes(form));
+  }
+
   /**
    * Deserializes the response of the client to a form that has been sent.
    *
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.form.util;
+
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.geysermc.cumulus.form.Form;
+import org.geysermc.cumulus.form.util.impl.FormTemplateImpl;
+
+/**
+ * A form that has been compiled into a template, which makes it cheap to create personalized copies
+ * of the form. Every text of the form (e.g. the title, content, button text, component text,
+ * options and the default text of inputs) can contain slots in the form of <code>{name}</code>,
+ * which are replaced by the value given for that slot when rendering the template.<br>
+ * <br>
+ * The form is serialized once when the template is compiled, rendering only has to concatenate the
+ * serialized parts with the escaped values of the slots. The result handlers of the compiled form
+ * are shared by every rendered form, and are called with the rendered form as argument.
+ *
+ * @param <F> the type of form this template creates
+ * @since 2.0
+ */
+public interface FormTemplate<F extends Form> {
+  /**
+   * Compiles the given form into a template.
+   *
+   * @param form the form to compile, which has to be created by Cumulus
+   * @param <F> the type of form
+   * @return the compiled template
+   * @throws IllegalArgumentException if the form type doesn't support templates
+   */
+  static <F extends Form> @NonNull FormTemplate<F> of(@NonNull F form) {
+    return FormTemplateImpl.of(form);
+  }
+
+  /** Returns the names of the slots that are present in this template. */
+  @NonNull Set<String> slots();
+
+  /**
+   * Creates a new form by replacing every slot with the value given for that slot. Slots without a
+   * value are left untouched.
+   *
+   * @param values the value of every slot, keyed by slot name
+   * @return the rendered form
+   */
+  @NonNull F render(@NonNull Map<String, String> values);
+}
@@ -25,6 +25,7 @@
 package org.geysermc.cumulus.form.util;
 
 import com.google.gson.annotations.SerializedName;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.form.CustomForm;
 import org.geysermc.cumulus.form.ModalForm;
@@ -46,15 +47,26 @@ import org.geysermc.cumulus.form.SimpleForm;
  */
 public enum FormType {
   @SerializedName("form")
-  SIMPLE_FORM,
+  SIMPLE_FORM("form"),
   @SerializedName("modal")
-  MODAL_FORM,
+  MODAL_FORM("modal"),
   @SerializedName("custom_form")
-  CUSTOM_FORM;
+  CUSTOM_FORM("custom_form");
 
   private static final FormType[] VALUES = values();
 
+  private final String name;
+
+  FormType(String name) {
+    this.name = name;
+  }
+
   public static @Nullable FormType fromOrdinal(int ordinal) {
     return ordinal < VALUES.length ? VALUES[ordinal] : null;
   }
+
+  /** Returns the name of the form type as used by the Bedrock client. */
+  public @NonNull String typeName() {
+    return name;
+  }
 }
@@ -26,6 +26,7 @@ package org.geysermc.cumulus.form.util.impl;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
@@ -34,19 +35,33 @@ import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.component.impl.ButtonComponentImpl;
+import org.geysermc.cumulus.component.impl.ComponentAdapters;
 import org.geysermc.cumulus.form.Form;
 import org.geysermc.cumulus.form.impl.FormImpl;
 import org.geysermc.cumulus.form.util.FormCodec;
 import org.geysermc.cumulus.form.util.FormType;
 import org.geysermc.cumulus.response.FormResponse;
 import org.geysermc.cumulus.response.result.FormResponseResult;
+import org.geysermc.cumulus.util.impl.FragmentJsonWriter;
 
 public abstract class FormCodecImpl<F extends Form, R extends FormResponse>
     implements JsonDeserializer<F>, JsonSerializer<F>, FormCodec<F, R> {
@@ -56,21 +71,75 @@ public abstract class FormCodecImpl<F extends Form, R extends FormResponse>
 
   protected final Class<F> typeClass;
   protected final FormType formType;
-  protected final Gson gson;
+  /**
+   * The Gson instance of this codec. Codecs that are created without one only have it once it's
+   * been shared using {@link #shareGson} or once {@link #gson()} has been called.
+   */
+  protected volatile Gson gson;
+  /**
+   * The size of the largest form this codec serialized, used to size the scratch buffer up front.
+   * Racing updates are harmless, at worst a buffer has to grow once more.
+   */
+  private int serializedSizeHint;
 
   protected FormCodecImpl(Class<F> typeClass, FormType formType) {
     this.typeClass = typeClass;
     this.formType = formType;
+    this.gson = createGson();
+  }
+
+  /**
+   * Creates a codec that doesn't create its Gson instance up front, which is useful for codecs that
+   * are going to share a Gson instance using {@link #shareGson}. Use {@link #gson()} to access it.
+   *
+   * @param gson the Gson instance to use, or null to create one when it's first needed
+   */
+  protected FormCodecImpl(Class<F> typeClass, FormType formType, @Nullable Gson gson) {
+    this.typeClass = typeClass;
+    this.formType = formType;
+    this.gson = gson;
+  }
 
+  /**
+   * Makes the given codecs use a single Gson instance, which is initialized by every codec. This is
+   * only possible when the adapters registered by the codecs don't conflict with each other, which
+   * is the case for the default codecs as they only register their own form type. The component
+   * adapters are registered once for all codecs.
+   */
+  public static void shareGson(@NonNull FormCodecImpl<?, ?>... codecs) {
     GsonBuilder builder = new GsonBuilder();
+    ComponentAdapters.register(builder);
+    for (FormCodecImpl<?, ?> codec : codecs) {
+      codec.initializeGson(builder);
+    }
+
+    Gson gson = builder.create();
+    for (FormCodecImpl<?, ?> codec : codecs) {
+      codec.gson = gson;
+    }
+  }
+
+  /** Returns the Gson instance of this codec, creating it if it hasn't been created yet. */
+  protected final Gson gson() {
+    Gson gson = this.gson;
+    if (gson == null) {
+      // creating two instances when racing is harmless, they're configured the same
+      this.gson = gson = createGson();
+    }
+    return gson;
+  }
+
+  private Gson createGson() {
+    GsonBuilder builder = new GsonBuilder();
+    ComponentAdapters.register(builder);
     initializeGson(builder);
-    this.gson = builder.create();
+    return builder.create();
   }
 
   @Override
   public final F fromJson(
       @NonNull String json, @Nullable BiConsumer<F, @Nullable String> rawResponseConsumer) {
-    F form = gson.fromJson(json, typeClass);
+    F form = gson().fromJson(json, typeClass);
     setRawResponseConsumer(form, rawResponseConsumer);
     return form;
   }
@@ -84,7 +153,123 @@ public abstract class FormCodecImpl<F extends Form, R extends FormResponse>
 
   @Override
   public final String jsonData(@NonNull F form) {
-    return gson.toJson(form, typeClass);
+    FormImpl<?> impl = form instanceof FormImpl ? (FormImpl<?>) form : null;
+    if (impl != null) {
+      String cached = impl.cachedJsonData();
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    String jsonData = serializeToString(form);
+    if (impl != null) {
+      impl.cachedJsonData(jsonData);
+    }
+    return jsonData;
+  }
+
+  @Override
+  public final byte @NonNull [] jsonDataBytes(@NonNull F form) {
+    FormImpl<?> impl = form instanceof FormImpl ? (FormImpl<?>) form : null;
+    if (impl != null) {
+      byte[] cached = impl.cachedJsonDataBytes();
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    byte[] jsonData = serializeToString(form).getBytes(StandardCharsets.UTF_8);
+    if (impl != null) {
+      impl.cachedJsonDataBytes(jsonData);
+    }
+    return jsonData;
+  }
+
+  @Override
+  public final void jsonData(@NonNull F form, @NonNull OutputStream out) throws IOException {
+    Objects.requireNonNull(out, "out");
+    if (form instanceof FormImpl && ((FormImpl<?>) form).cacheJsonData()) {
+      out.write(jsonDataBytes(form));
+      out.flush();
+      return;
+    }
+
+    ScratchWriter writer = serialize(form);
+    try {
+      writer.encodeTo(out);
+    } finally {
+      writer.release();
+    }
+    out.flush();
+  }
+
+  @Override
+  public final void jsonData(@NonNull F form, @NonNull ByteBuffer buffer) {
+    Objects.requireNonNull(buffer, "buffer");
+    if (form instanceof FormImpl && ((FormImpl<?>) form).cacheJsonData()) {
+      buffer.put(jsonDataBytes(form));
+      return;
+    }
+
+    ScratchWriter writer = serialize(form);
+    try {
+      writer.encodeTo(buffer);
+    } finally {
+      writer.release();
+    }
+  }
+
+  @Override
+  public final void jsonData(@NonNull F form, @NonNull JsonWriter out) throws IOException {
+    Objects.requireNonNull(form, "form");
+    Objects.requireNonNull(out, "out");
+
+    out.beginObject();
+    writeForm(form, out);
+    out.name("type").value(formType.typeName());
+    out.endObject();
+  }
+
+  private String serializeToString(F form) {
+    ScratchWriter writer = serialize(form);
+    try {
+      return writer.toString();
+    } finally {
+      writer.release();
+    }
+  }
+
+  /**
+   * Serializes the form using the scratch buffer of the current thread, which is sized using the
+   * sizes of the forms this codec serialized before. This way the buffer doesn't have to grow while
+   * serializing once the same forms are sent repeatedly. The returned writer has to be released.
+   */
+  private ScratchWriter serialize(F form) {
+    ScratchWriter writer = ScratchWriter.acquire(serializedSizeHint);
+    boolean serialized = false;
+    try {
+      JsonWriter out = newJsonWriter(writer);
+      jsonData(form, out);
+      out.flush();
+      serialized = true;
+    } catch (IOException exception) {
+      throw new JsonIOException(exception);
+    } finally {
+      if (!serialized) {
+        writer.release();
+      }
+    }
+
+    int size = writer.size();
+    if (size > serializedSizeHint) {
+      serializedSizeHint = Math.min(size, ScratchWriter.MAX_RETAINED_CAPACITY);
+    }
+    return writer;
+  }
+
+  private static JsonWriter newJsonWriter(Writer writer) {
+    // allows components to write their cached json directly
+    return new FragmentJsonWriter(writer);
   }
 
   @Override
@@ -129,6 +314,162 @@ public abstract class FormCodecImpl<F extends Form, R extends FormResponse>
   protected abstract void serializeForm(
       F form, JsonSerializationContext context, JsonObject result);
 
+  /**
+   * Writes the members of the form directly to the given writer, without building an intermediate
+   * JsonObject. The output has to be identical to the output of {@link #serializeForm}.
+   */
+  protected abstract void writeForm(F form, JsonWriter out) throws IOException;
+
   protected abstract FormResponseResult<R> deserializeResponse(
       @NonNull F form, @NonNull String responseData);
+
+  /**
+   * A writer that writes to a growable char array. Every thread keeps the array of its last writer
+   * around to reuse. The thread local only holds the array and not the writer, so it doesn't
+   * keep the classes of this library loaded. A writer takes the array out of the thread local while
+   * it's in use, so serializing a form while serializing another form on the same thread uses a new
+   * array.
+   */
+  private static final class ScratchWriter extends Writer {
+    /** The max capacity a buffer can have while it's not in use, to limit memory usage. */
+    static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int ENCODE_CHUNK_SIZE = 4096;
+    private static final ThreadLocal<char[]> SCRATCH = new ThreadLocal<>();
+    private static final ThreadLocal<CharsetEncoder> ENCODER = new ThreadLocal<>();
+    private static final ThreadLocal<byte[]> ENCODE_CHUNK = new ThreadLocal<>();
+
+    private char[] buffer;
+    private int size;
+
+    private ScratchWriter(char[] buffer) {
+      this.buffer = buffer;
+    }
+
+    /** Returns an empty writer with at least the given capacity. */
+    static ScratchWriter acquire(int capacity) {
+      char[] buffer = SCRATCH.get();
+      if (buffer != null) {
+        SCRATCH.set(null);
+      }
+      if (buffer == null || buffer.length < capacity) {
+        // the contents are discarded anyway, so there's no need to copy them
+        buffer = new char[Math.max(capacity, INITIAL_CAPACITY)];
+      }
+      return new ScratchWriter(buffer);
+    }
+
+    void release() {
+      if (buffer.length <= MAX_RETAINED_CAPACITY) {
+        SCRATCH.set(buffer);
+      }
+    }
+
+    int size() {
+      return size;
+    }
+
+    /**
+     * Encodes the written chars as UTF-8 into the given buffer. When they don't fit, the position
+     * of the buffer is restored before throwing, but the bytes after it may have been overwritten.
+     */
+    void encodeTo(ByteBuffer target) {
+      CharsetEncoder encoder = takeEncoder();
+      try {
+        int position = target.position();
+        CoderResult result = encoder.encode(CharBuffer.wrap(buffer, 0, size), target, true);
+        if (result.isUnderflow()) {
+          result = encoder.flush(target);
+        }
+        if (result.isOverflow()) {
+          target.position(position);
+          throw new BufferOverflowException();
+        }
+      } finally {
+        ENCODER.set(encoder);
+      }
+    }
+
+    /** Encodes the written chars as UTF-8 to the given stream, in chunks. */
+    void encodeTo(OutputStream out) throws IOException {
+      CharsetEncoder encoder = takeEncoder();
+      byte[] bytes = ENCODE_CHUNK.get();
+      if (bytes != null) {
+        ENCODE_CHUNK.set(null);
+      } else {
+        bytes = new byte[ENCODE_CHUNK_SIZE];
+      }
+
+      try {
+        CharBuffer chars = CharBuffer.wrap(buffer, 0, size);
+        ByteBuffer chunk = ByteBuffer.wrap(bytes);
+        while (encoder.encode(chars, chunk, true).isOverflow()) {
+          out.write(bytes, 0, chunk.position());
+          chunk.clear();
+        }
+        while (encoder.flush(chunk).isOverflow()) {
+          out.write(bytes, 0, chunk.position());
+          chunk.clear();
+        }
+        out.write(bytes, 0, chunk.position());
+      } finally {
+        ENCODER.set(encoder);
+        ENCODE_CHUNK.set(bytes);
+      }
+    }
+
+    /**
+     * Takes the encoder of the current thread, so that it isn't used by a nested call while it's in
+     * use. Invalid chars are replaced the same way as {@link String#getBytes} does.
+     */
+    private static CharsetEncoder takeEncoder() {
+      CharsetEncoder encoder = ENCODER.get();
+      if (encoder == null) {
+        return StandardCharsets.UTF_8
+            .newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      }
+      ENCODER.set(null);
+      return encoder.reset();
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length << 1));
+      }
+    }
+
+    @Override
+    public void write(int c) {
+      ensureCapacity(size + 1);
+      buffer[size++] = (char) c;
+    }
+
+    @Override
+    public void write(char @NonNull [] chars, int offset, int length) {
+      ensureCapacity(size + length);
+      System.arraycopy(chars, offset, buffer, size, length);
+      size += length;
+    }
+
+    @Override
+    public void write(@NonNull String string, int offset, int length) {
+      ensureCapacity(size + length);
+      string.getChars(offset, offset + length, buffer, size);
+      size += length;
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+
+    @Override
+    public String toString() {
+      return new String(buffer, 0, size);
+    }
+  }
 }
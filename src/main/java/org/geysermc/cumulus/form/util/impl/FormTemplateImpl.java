@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.form.util.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.cumulus.component.ButtonComponent;
+import org.geysermc.cumulus.component.Component;
+import org.geysermc.cumulus.component.DropdownComponent;
+import org.geysermc.cumulus.component.InputComponent;
+import org.geysermc.cumulus.component.LabelComponent;
+import org.geysermc.cumulus.component.SliderComponent;
+import org.geysermc.cumulus.component.StepSliderComponent;
+import org.geysermc.cumulus.component.ToggleComponent;
+import org.geysermc.cumulus.form.CustomForm;
+import org.geysermc.cumulus.form.Form;
+import org.geysermc.cumulus.form.ModalForm;
+import org.geysermc.cumulus.form.SimpleForm;
+import org.geysermc.cumulus.form.impl.FormDefinitions;
+import org.geysermc.cumulus.form.impl.FormImpl;
+import org.geysermc.cumulus.form.impl.custom.CustomFormImpl;
+import org.geysermc.cumulus.form.impl.modal.ModalFormImpl;
+import org.geysermc.cumulus.form.impl.simple.SimpleFormImpl;
+import org.geysermc.cumulus.form.util.FormCodec;
+import org.geysermc.cumulus.form.util.FormTemplate;
+import org.geysermc.cumulus.util.FormImage;
+
+public final class FormTemplateImpl<F extends Form> implements FormTemplate<F> {
+  /** The replacements used by Gson's html safe JsonWriter, indexed by character. */
+  private static final String[] REPLACEMENT_CHARS;
+
+  static {
+    REPLACEMENT_CHARS = new String[128];
+    for (int i = 0; i <= 0x1f; i++) {
+      REPLACEMENT_CHARS[i] = String.format("\\u%04x", i);
+    }
+    REPLACEMENT_CHARS['"'] = "\\\"";
+    REPLACEMENT_CHARS['\\'] = "\\\\";
+    REPLACEMENT_CHARS['\t'] = "\\t";
+    REPLACEMENT_CHARS['\b'] = "\\b";
+    REPLACEMENT_CHARS['\n'] = "\\n";
+    REPLACEMENT_CHARS['\r'] = "\\r";
+    REPLACEMENT_CHARS['\f'] = "\\f";
+    REPLACEMENT_CHARS['<'] = "\\u003c";
+    REPLACEMENT_CHARS['>'] = "\\u003e";
+    REPLACEMENT_CHARS['&'] = "\\u0026";
+    REPLACEMENT_CHARS['='] = "\\u003d";
+    REPLACEMENT_CHARS['\''] = "\\u0027";
+  }
+
+  private final FormImpl<?> prototype;
+  /** The serialized form split on every slot, so there is one more fragment than there are slots. */
+  private final String[] fragments;
+
+  private final String[] slotNames;
+  private final Set<String> slots;
+  private final int fragmentsLength;
+
+  private FormTemplateImpl(FormImpl<?> prototype, List<String> fragments, List<String> slotNames) {
+    this.prototype = prototype;
+    this.fragments = fragments.toArray(new String[0]);
+    this.slotNames = slotNames.toArray(new String[0]);
+    this.slots = Collections.unmodifiableSet(new LinkedHashSet<>(slotNames));
+
+    int length = 0;
+    for (String fragment : fragments) {
+      length += fragment.length();
+    }
+    this.fragmentsLength = length;
+  }
+
+  public static <F extends Form> @NonNull FormTemplate<F> of(@NonNull F form) {
+    Objects.requireNonNull(form, "form");
+    if (!(form instanceof SimpleForm || form instanceof ModalForm || form instanceof CustomForm)
+        || !(form instanceof FormImpl)) {
+      throw new IllegalArgumentException("Templates are not supported for " + form.getClass());
+    }
+
+    FormCodec<F, ?> codec = FormDefinitions.instance().codecFor(form);
+    String jsonData = codec.jsonData(form);
+
+    // placeholders are never escaped by the JsonWriter, so they can be found in the serialized form
+    List<String> fragments = new ArrayList<>();
+    List<String> slotNames = new ArrayList<>();
+
+    int fragmentStart = 0;
+    int index = 0;
+    while ((index = jsonData.indexOf('{', index)) != -1) {
+      int end = slotEnd(jsonData, index);
+      if (end == -1) {
+        index++;
+        continue;
+      }
+      fragments.add(jsonData.substring(fragmentStart, index));
+      slotNames.add(jsonData.substring(index + 1, end));
+      fragmentStart = index = end + 1;
+    }
+    fragments.add(jsonData.substring(fragmentStart));
+
+    return new FormTemplateImpl<>((FormImpl<?>) form, fragments, slotNames);
+  }
+
+  @Override
+  public @NonNull Set<String> slots() {
+    return slots;
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public @NonNull F render(@NonNull Map<String, String> values) {
+    Objects.requireNonNull(values, "values");
+
+    StringBuilder jsonData = new StringBuilder(fragmentsLength + slotNames.length * 16);
+    for (int i = 0; i < slotNames.length; i++) {
+      jsonData.append(fragments[i]);
+      String value = values.get(slotNames[i]);
+      if (value != null) {
+        appendEscaped(jsonData, value);
+      } else {
+        jsonData.append('{').append(slotNames[i]).append('}');
+      }
+    }
+    jsonData.append(fragments[fragments.length - 1]);
+
+    FormImpl form = renderForm(values);
+    form.copyResultHandler(prototype);
+    form.cacheJsonData(true);
+    form.cachedJsonData(jsonData.toString());
+    return (F) form;
+  }
+
+  private FormImpl<?> renderForm(Map<String, String> values) {
+    String title = render(prototype.title(), values);
+
+    if (prototype instanceof SimpleForm) {
+      SimpleForm form = (SimpleForm) prototype;
+      List<ButtonComponent> buttons = new ArrayList<>(form.buttons().size());
+      for (ButtonComponent button : form.buttons()) {
+        buttons.add(button != null ? renderButton(button, values) : null);
+      }
+      return new SimpleFormImpl(title, render(form.content(), values), buttons);
+    }
+
+    if (prototype instanceof ModalForm) {
+      ModalForm form = (ModalForm) prototype;
+      return new ModalFormImpl(
+          title,
+          render(form.content(), values),
+          render(form.button1(), values),
+          render(form.button2(), values));
+    }
+
+    CustomForm form = (CustomForm) prototype;
+    List<Component> content = new ArrayList<>(form.content().size());
+    for (Component component : form.content()) {
+      content.add(component != null ? renderComponent(component, values) : null);
+    }
+    CustomFormImpl rendered = new CustomFormImpl(title, renderImage(form.icon(), values), content);
+    rendered.lazyResponses(((CustomFormImpl) form).lazyResponses());
+    return rendered;
+  }
+
+  private static ButtonComponent renderButton(ButtonComponent button, Map<String, String> values) {
+    String text = render(button.text(), values);
+    FormImage image = renderImage(button.image(), values);
+    if (text == button.text() && image == button.image()) {
+      return button;
+    }
+    return ButtonComponent.of(text, image);
+  }
+
+  private static @Nullable FormImage renderImage(
+      @Nullable FormImage image, Map<String, String> values) {
+    if (image == null) {
+      return null;
+    }
+    String data = render(image.data(), values);
+    return data == image.data() ? image : FormImage.of(image.type(), data);
+  }
+
+  private static Component renderComponent(Component component, Map<String, String> values) {
+    String text = render(component.text(), values);
+
+    switch (component.type()) {
+      case DROPDOWN:
+        DropdownComponent dropdown = (DropdownComponent) component;
+        List<String> options = render(dropdown.options(), values);
+        if (text == dropdown.text() && options == dropdown.options()) {
+          return component;
+        }
+        return DropdownComponent.of(text, options, dropdown.defaultOption());
+      case INPUT:
+        InputComponent input = (InputComponent) component;
+        String placeholder = render(input.placeholder(), values);
+        String defaultText = render(input.defaultText(), values);
+        if (text == input.text()
+            && placeholder == input.placeholder()
+            && defaultText == input.defaultText()) {
+          return component;
+        }
+        return InputComponent.of(text, placeholder, defaultText);
+      case LABEL:
+        return text == component.text() ? component : LabelComponent.of(text);
+      case SLIDER:
+        if (text == component.text()) {
+          return component;
+        }
+        SliderComponent slider = (SliderComponent) component;
+        return SliderComponent.of(
+            text, slider.minValue(), slider.maxValue(), slider.step(), slider.defaultValue());
+      case STEP_SLIDER:
+        StepSliderComponent stepSlider = (StepSliderComponent) component;
+        List<String> steps = render(stepSlider.steps(), values);
+        if (text == stepSlider.text() && steps == stepSlider.steps()) {
+          return component;
+        }
+        return StepSliderComponent.of(text, steps, stepSlider.defaultStep());
+      case TOGGLE:
+        if (text == component.text()) {
+          return component;
+        }
+        return ToggleComponent.of(text, ((ToggleComponent) component).defaultValue());
+      default:
+        throw new IllegalStateException("Cannot render component type " + component.type());
+    }
+  }
+
+  /** Returns the same list instance when none of the texts contained a slot. */
+  private static List<String> render(List<String> texts, Map<String, String> values) {
+    List<String> rendered = null;
+    for (int i = 0; i < texts.size(); i++) {
+      String text = texts.get(i);
+      String renderedText = render(text, values);
+      if (rendered == null && renderedText != text) {
+        rendered = new ArrayList<>(texts.subList(0, i));
+      }
+      if (rendered != null) {
+        rendered.add(renderedText);
+      }
+    }
+    return rendered != null ? rendered : texts;
+  }
+
+  /** Returns the same string instance when the text didn't contain a slot. */
+  private static String render(String text, Map<String, String> values) {
+    int index = text.indexOf('{');
+    if (index == -1) {
+      return text;
+    }
+
+    StringBuilder builder = null;
+    int start = 0;
+    while (index != -1) {
+      int end = slotEnd(text, index);
+      if (end != -1) {
+        String value = values.get(text.substring(index + 1, end));
+        if (value != null) {
+          if (builder == null) {
+            builder = new StringBuilder(text.length() + value.length());
+          }
+          builder.append(text, start, index).append(value);
+          start = end + 1;
+        }
+        index = text.indexOf('{', end);
+      } else {
+        index = text.indexOf('{', index + 1);
+      }
+    }
+
+    if (builder == null) {
+      return text;
+    }
+    return builder.append(text, start, text.length()).toString();
+  }
+
+  /**
+   * Returns the index of the closing brace of the slot that starts at the given index, or -1 if
+   * there is no valid slot at the given index.
+   */
+  private static int slotEnd(String text, int start) {
+    int index = start + 1;
+    while (index < text.length()) {
+      char current = text.charAt(index);
+      if (current == '}') {
+        return index > start + 1 ? index : -1;
+      }
+      if (!isSlotNameChar(current)) {
+        return -1;
+      }
+      index++;
+    }
+    return -1;
+  }
+
+  private static boolean isSlotNameChar(char character) {
+    return (character >= 'a' && character <= 'z')
+        || (character >= 'A' && character <= 'Z')
+        || (character >= '0' && character <= '9')
+        || character == '_'
+        || character == '-'
+        || character == '.';
+  }
+
+  private static void appendEscaped(StringBuilder builder, String value) {
+    int last = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char current = value.charAt(i);
+      String replacement;
+      if (current < 128) {
+        replacement = REPLACEMENT_CHARS[current];
+        if (replacement == null) {
+          continue;
+        }
+      } else if (current == '\u2028') {
+        replacement = "\\u2028";
+      } else if (current == '\u2029') {
+        replacement = "\\u2029";
+      } else {
+        continue;
+      }
+      builder.append(value, last, i).append(replacement);
+      last = i + 1;
+    }
+    builder.append(value, last, value.length());
+  }
+}
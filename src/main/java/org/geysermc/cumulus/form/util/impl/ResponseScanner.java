@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.form.util.impl;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Reads the single value responses of simple and modal forms directly from the response data.
+ * Nothing is allocated and no exceptions are thrown, so malformed responses are as cheap to reject
+ * as valid responses are to accept.
+ */
+public final class ResponseScanner {
+  /** Returned by {@link #scanInt(CharSequence)} when the data is not a valid integer. */
+  public static final long INVALID_INT = Long.MIN_VALUE;
+  /** Returned by {@link #scanBoolean(CharSequence)} when the data is not a valid boolean. */
+  public static final int INVALID_BOOLEAN = -1;
+
+  private ResponseScanner() {}
+
+  /**
+   * Reads the data as an int, ignoring leading and trailing whitespace. This accepts the same
+   * input as {@code Integer.parseInt(data.trim())} does.
+   *
+   * @param data the data to read
+   * @return the int, or {@link #INVALID_INT} if the data isn't a valid int
+   */
+  public static long scanInt(@NonNull CharSequence data) {
+    int start = skipLeading(data);
+    int end = skipTrailing(data, start);
+    if (start == end) {
+      return INVALID_INT;
+    }
+
+    boolean negative = false;
+    char first = data.charAt(start);
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      if (++start == end) {
+        return INVALID_INT;
+      }
+    }
+
+    // the limit is one higher for negative numbers
+    long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      int digit = Character.digit(data.charAt(i), 10);
+      if (digit < 0) {
+        return INVALID_INT;
+      }
+      value = value * 10 + digit;
+      if (value > limit) {
+        return INVALID_INT;
+      }
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Reads the data as a boolean, ignoring leading and trailing whitespace.
+   *
+   * @param data the data to read
+   * @return 1 for true, 0 for false or {@link #INVALID_BOOLEAN} if the data isn't a boolean
+   */
+  public static int scanBoolean(@NonNull CharSequence data) {
+    int start = skipLeading(data);
+    int end = skipTrailing(data, start);
+    if (matches(data, start, end, "true")) {
+      return 1;
+    }
+    if (matches(data, start, end, "false")) {
+      return 0;
+    }
+    return INVALID_BOOLEAN;
+  }
+
+  private static boolean matches(CharSequence data, int start, int end, String expected) {
+    if (end - start != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      if (data.charAt(start + i) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // whitespace is everything String#trim would remove
+
+  private static int skipLeading(CharSequence data) {
+    int start = 0;
+    while (start < data.length() && data.charAt(start) <= ' ') {
+      start++;
+    }
+    return start;
+  }
+
+  private static int skipTrailing(CharSequence data, int start) {
+    int end = data.length();
+    while (end > start && data.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return end;
+  }
+}
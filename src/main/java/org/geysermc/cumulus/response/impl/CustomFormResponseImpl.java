@@ -24,56 +24,102 @@
  */
 package org.geysermc.cumulus.response.impl;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.response.CustomFormResponse;
 import org.geysermc.cumulus.util.AbsentComponent;
 
 public final class CustomFormResponseImpl implements CustomFormResponse {
+  private static final byte LABEL = 0;
+  /** An optional component that was not added. */
+  private static final byte ABSENT = 1;
+
+  private static final byte INT = 2;
+  private static final byte FLOAT = 3;
+  private static final byte BOOLEAN = 4;
+  private static final byte STRING = 5;
+  /** A value that is only validated and converted when it is first accessed. */
+  private static final byte UNRESOLVED = 6;
 
   /**
-   * Contains null for LabelComponent and {@link AbsentComponent} for components that were optional
-   * and not added.
+   * The type of every slot. The value of the slot is stored in the array that belongs to the type,
+   * at the same index: {@link #ints}, {@link #floats}, {@link #booleans} (as bitset) or {@link
+   * #strings}.
    */
-  private final List<@Nullable Object> responses;
+  private final byte[] types;
+
+  private final int[] ints;
+  private final float[] floats;
+  private final long[] booleans;
+  private final String[] strings;
+  private final ValueResolver resolver;
 
   private int index = -1;
   private boolean includeLabels = false;
 
-  private CustomFormResponseImpl(List<Object> responses) {
-    this.responses = Collections.unmodifiableList(responses);
+  private CustomFormResponseImpl(Builder builder) {
+    this.types = builder.types;
+    this.ints = builder.ints;
+    this.floats = builder.floats;
+    this.booleans = builder.booleans;
+    this.strings = builder.strings;
+    this.resolver = builder.resolver;
   }
 
+  /**
+   * Creates a response from a list containing null for label components, {@link AbsentComponent}
+   * for optional components that were not added and Integer, Float, Boolean or String for the
+   * values of the other components.
+   */
   public static @NonNull CustomFormResponse of(@NonNull List<Object> responses) {
     Objects.requireNonNull(responses, "responses");
-    return new CustomFormResponseImpl(responses);
+
+    Builder builder = builder(responses.size());
+    for (Object response : responses) {
+      if (response == null) {
+        builder.label();
+      } else if (response instanceof AbsentComponent) {
+        builder.absent();
+      } else if (response instanceof Integer) {
+        builder.intValue((Integer) response);
+      } else if (response instanceof Float) {
+        builder.floatValue((Float) response);
+      } else if (response instanceof Boolean) {
+        builder.booleanValue((Boolean) response);
+      } else if (response instanceof String) {
+        builder.stringValue((String) response);
+      } else {
+        throw new IllegalArgumentException("Unsupported response value " + response);
+      }
+    }
+    return builder.build();
+  }
+
+  public static @NonNull Builder builder(@NonNegative int size) {
+    return new Builder(size);
   }
 
   /**
-   * This should be used internally so that {@link AbsentComponent} can be taken into consideration
-   * separately from label components.
+   * Moves the index to the next component to read. Label components are skipped when labels are
+   * not included.
    *
-   * @return null for label components or if there is no next component, and {@link AbsentComponent}
-   *     for optional components that were not added
+   * @return false if there is no next component
    */
-  @SuppressWarnings("unchecked")
-  private <T> @Nullable T nextOrAbsent(boolean includeLabels) {
+  private boolean moveToNext(boolean includeLabels) {
     if (!hasNext()) {
-      return null;
+      return false;
     }
 
-    while (++index < responses.size()) {
-      Object response = responses.get(index);
-      if (response == null && !includeLabels) {
-        // if response is null, it was a label
+    while (++index < types.length) {
+      if (types[index] == LABEL && !includeLabels) {
         continue;
       }
-      return (T) response;
+      return true;
     }
-    return null; // we don't have anything to check anymore
+    return false; // we don't have anything to check anymore
   }
 
   @Override
@@ -105,193 +151,306 @@ public final class CustomFormResponseImpl implements CustomFormResponse {
 
   @Override
   public boolean hasNext() {
-    return responses.size() > index + 1;
+    return types.length > index + 1;
   }
 
   @Override
   public boolean isPresent() {
-    return responses.size() > index && responses.get(index) != null;
+    return types.length > index && types[index] != LABEL;
   }
 
   @Override
   public boolean isNextPresent() {
-    return hasNext() && responses.get(index + 1) != null;
-  }
-
-  /**
-   * This should be used internally so that {@link AbsentComponent} can be taken into consideration
-   * separately from label components.
-   *
-   * @return null for label components and {@link AbsentComponent} for optional components that were
-   *     not added
-   */
-  private <T> T nextOrAbsent() {
-    return nextOrAbsent(includeLabels);
+    return hasNext() && types[index + 1] != LABEL;
   }
 
   @Override
   public <T> @Nullable T next() {
-    T next = nextOrAbsent(includeLabels);
-    if (next instanceof AbsentComponent) {
+    if (!moveToNext(includeLabels)) {
       return null;
     }
-    return next;
+    return value(index);
   }
 
   @Override
   public int asDropdown() {
-    Object next = nextOrAbsent();
-    if (next instanceof AbsentComponent) {
-      return 0;
-    }
-    if (next instanceof Integer) {
-      return (int) next;
-    }
-    throw wrongType(index, "dropdown");
+    return intValue(moveToNext(includeLabels), index, "dropdown");
   }
 
   @Override
   public @Nullable String asInput() {
-    Object next = nextOrAbsent();
-    if (next instanceof AbsentComponent) {
-      return null;
-    }
-    if (next instanceof String) {
-      return (String) next;
-    }
-    throw wrongType(index, "input");
+    return stringValue(moveToNext(includeLabels), index, "input");
   }
 
   @Override
   public float asSlider() {
-    Object next = nextOrAbsent();
-    if (next instanceof AbsentComponent) {
-      return 0.0f;
-    }
-    if (next instanceof Float) {
-      return (float) next;
-    }
-    throw wrongType(index, "slider");
+    return floatValue(moveToNext(includeLabels), index, "slider");
   }
 
   @Override
   public int asStepSlider() {
-    Object next = nextOrAbsent();
-    if (next instanceof AbsentComponent) {
-      return 0;
-    }
-    if (next instanceof Integer) {
-      return (int) next;
-    }
-    throw wrongType(index, "step slider");
+    return intValue(moveToNext(includeLabels), index, "step slider");
   }
 
   @Override
   public boolean asToggle() {
-    Object next = nextOrAbsent();
-    if (next instanceof AbsentComponent) {
-      return false;
-    }
-    if (next instanceof Boolean) {
-      return (boolean) next;
-    }
-    throw wrongType(index, "toggle");
+    return booleanValue(moveToNext(includeLabels), index, "toggle");
   }
 
-  /**
-   * @return null for label components and {@link AbsentComponent} for optional components that were
-   *     not added
-   */
-  @SuppressWarnings("unchecked")
-  private <T> @Nullable T valueOrAbsent(int index)
-      throws IllegalArgumentException, ClassCastException {
+  private void checkIndex(int index) throws IllegalArgumentException {
     if (index < 0) throw new IllegalArgumentException("index cannot be negative");
-    if (index >= responses.size()) {
+    if (index >= types.length) {
       throw new IllegalArgumentException("Requested an higher index than there are components");
     }
-
-    return (T) responses.get(index);
   }
 
   @Override
   public <T> @Nullable T valueAt(int index) throws IllegalArgumentException, ClassCastException {
-    T response = valueOrAbsent(index);
-    if (response instanceof AbsentComponent) {
-      return null;
-    }
-    return response;
+    checkIndex(index);
+    return value(index);
   }
 
   @Override
   public int asDropdown(int index) {
-    Object next = valueOrAbsent(index);
-    if (next instanceof AbsentComponent) {
-      return 0;
-    }
-    if (next instanceof Integer) {
-      return (int) next;
-    }
-    throw wrongType(index, "dropdown");
+    checkIndex(index);
+    return intValue(true, index, "dropdown");
   }
 
   @Override
   public @Nullable String asInput(int index) {
-    Object next = valueOrAbsent(index);
-    if (next instanceof AbsentComponent) {
-      return null;
-    }
-    if (next instanceof String) {
-      return (String) next;
-    }
-    throw wrongType(index, "input");
+    checkIndex(index);
+    return stringValue(true, index, "input");
   }
 
   @Override
   public float asSlider(int index) {
-    Object next = valueOrAbsent(index);
-    if (next instanceof AbsentComponent) {
-      return 0.0f;
-    }
-    if (next instanceof Float) {
-      return (float) next;
-    }
-    throw wrongType(index, "slider");
+    checkIndex(index);
+    return floatValue(true, index, "slider");
   }
 
   @Override
   public int asStepSlider(int index) {
-    Object next = valueOrAbsent(index);
-    if (next instanceof AbsentComponent) {
-      return 0;
-    }
-    if (next instanceof Integer) {
-      return (int) next;
-    }
-    throw wrongType(index, "step slider");
+    checkIndex(index);
+    return intValue(true, index, "step slider");
   }
 
   @Override
   public boolean asToggle(int index) {
-    Object next = valueOrAbsent(index);
-    if (next instanceof AbsentComponent) {
-      return false;
+    checkIndex(index);
+    return booleanValue(true, index, "toggle");
+  }
+
+  /**
+   * Returns the value of the given slot as an object, which is null for label components and
+   * optional components that were not added.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> @Nullable T value(int index) {
+    resolve(index);
+    switch (types[index]) {
+      case INT:
+        return (T) Integer.valueOf(ints[index]);
+      case FLOAT:
+        return (T) Float.valueOf(floats[index]);
+      case BOOLEAN:
+        return (T) Boolean.valueOf(bit(index));
+      case STRING:
+        return (T) strings[index];
+      default:
+        return null;
+    }
+  }
+
+  private int intValue(boolean found, int index, String expected) {
+    if (found) {
+      byte type = resolve(index);
+      if (type == INT) {
+        return ints[index];
+      }
+      if (type == ABSENT) {
+        return 0;
+      }
+    }
+    throw wrongType(index, expected);
+  }
+
+  private float floatValue(boolean found, int index, String expected) {
+    if (found) {
+      byte type = resolve(index);
+      if (type == FLOAT) {
+        return floats[index];
+      }
+      if (type == ABSENT) {
+        return 0.0f;
+      }
     }
-    if (next instanceof Boolean) {
-      return (boolean) next;
+    throw wrongType(index, expected);
+  }
+
+  private boolean booleanValue(boolean found, int index, String expected) {
+    if (found) {
+      byte type = resolve(index);
+      if (type == BOOLEAN) {
+        return bit(index);
+      }
+      if (type == ABSENT) {
+        return false;
+      }
     }
-    throw wrongType(index, "toggle");
+    throw wrongType(index, expected);
+  }
+
+  private @Nullable String stringValue(boolean found, int index, String expected) {
+    if (found) {
+      byte type = resolve(index);
+      if (type == STRING) {
+        return strings[index];
+      }
+      if (type == ABSENT) {
+        return null;
+      }
+    }
+    throw wrongType(index, expected);
+  }
+
+  /**
+   * Validates and converts the value of the given slot if that didn't happen yet, and returns the
+   * type of the slot.
+   */
+  private byte resolve(int index) {
+    byte type = types[index];
+    if (type == UNRESOLVED) {
+      resolver.resolve(index, new Builder(this, index));
+      type = types[index];
+    }
+    return type;
+  }
+
+  private boolean bit(int index) {
+    return (booleans[index >>> 6] & (1L << index)) != 0;
   }
 
   private IllegalStateException wrongType(int index, String expected) {
-    Object response = responses.get(index);
     String unexpected;
-    if (response == null) {
+    if (types[index] == LABEL) {
       unexpected = "label";
     } else {
-      unexpected = response.toString();
+      Object value = value(index);
+      unexpected = String.valueOf(value);
     }
 
     return new IllegalStateException(
         String.format("Expected %s on %s, got %s", expected, index, unexpected));
   }
+
+  /**
+   * Validates and converts the values of a response that are marked as {@link Builder#unresolved()
+   * unresolved} when they are accessed for the first time.
+   */
+  @FunctionalInterface
+  public interface ValueResolver {
+    /**
+     * Validates the value of the given slot and passes it to the given builder.
+     *
+     * @param index the index of the slot
+     * @param target the builder to pass the value to, which only fills the given slot
+     * @throws IllegalStateException if the value is not valid for the component
+     */
+    void resolve(int index, @NonNull Builder target);
+  }
+
+  /** Fills the slots of a response in order, one slot per component of the form. */
+  public static final class Builder {
+    private final byte[] types;
+    private final int[] ints;
+    private final float[] floats;
+    private final long[] booleans;
+    private final String[] strings;
+    private int size;
+    private ValueResolver resolver;
+    private boolean hasUnresolved;
+
+    private Builder(int capacity) {
+      if (capacity < 0) throw new IllegalArgumentException("size cannot be negative");
+      this.types = new byte[capacity];
+      this.ints = new int[capacity];
+      this.floats = new float[capacity];
+      this.booleans = new long[(capacity + 63) >>> 6];
+      this.strings = new String[capacity];
+    }
+
+    /** Creates a builder that fills the given slot of an existing response. */
+    private Builder(CustomFormResponseImpl response, int index) {
+      this.types = response.types;
+      this.ints = response.ints;
+      this.floats = response.floats;
+      this.booleans = response.booleans;
+      this.strings = response.strings;
+      this.size = index;
+    }
+
+    public Builder label() {
+      types[size++] = LABEL;
+      return this;
+    }
+
+    public Builder absent() {
+      types[size++] = ABSENT;
+      return this;
+    }
+
+    public Builder intValue(int value) {
+      ints[size] = value;
+      types[size++] = INT;
+      return this;
+    }
+
+    public Builder floatValue(float value) {
+      floats[size] = value;
+      types[size++] = FLOAT;
+      return this;
+    }
+
+    public Builder booleanValue(boolean value) {
+      if (value) {
+        booleans[size >>> 6] |= 1L << size;
+      }
+      types[size++] = BOOLEAN;
+      return this;
+    }
+
+    public Builder stringValue(@NonNull String value) {
+      strings[size] = Objects.requireNonNull(value, "value");
+      types[size++] = STRING;
+      return this;
+    }
+
+    /**
+     * Marks the slot as unresolved. Its value is requested from the {@link ValueResolver} given to
+     * {@link #build(ValueResolver)} once it is accessed.
+     */
+    public Builder unresolved() {
+      types[size++] = UNRESOLVED;
+      hasUnresolved = true;
+      return this;
+    }
+
+    public @NonNull CustomFormResponse build() {
+      if (size != types.length) {
+        throw new IllegalStateException("Expected " + types.length + " values, got " + size);
+      }
+      if (hasUnresolved && resolver == null) {
+        throw new IllegalStateException("A resolver is required for unresolved values");
+      }
+      return new CustomFormResponseImpl(this);
+    }
+
+    /**
+     * Builds a response that uses the given resolver for the slots that are marked as unresolved.
+     */
+    public @NonNull CustomFormResponse build(@NonNull ValueResolver resolver) {
+      this.resolver = Objects.requireNonNull(resolver, "resolver");
+      return build();
+    }
+  }
 }
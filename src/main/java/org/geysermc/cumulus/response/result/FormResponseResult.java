@@ -38,6 +38,16 @@ public interface FormResponseResult<R extends FormResponse> {
     return InvalidFormResponseResult.of(componentIndex, errorMessage);
   }
 
+  /**
+   * Returns the shared invalid result for the given reason.
+   *
+   * @since 2.0
+   */
+  static <R extends FormResponse> @NonNull InvalidFormResponseResult<R> invalid(
+      InvalidFormResponseResult.@NonNull Reason reason) {
+    return InvalidFormResponseResult.of(reason);
+  }
+
   static <R extends FormResponse> @NonNull ValidFormResponseResult<R> valid(R formResponse) {
     return ValidFormResponseResult.of(formResponse);
   }
@@ -24,22 +24,76 @@
  */
 package org.geysermc.cumulus.response.result;
 
+import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.response.FormResponse;
 
 public final class InvalidFormResponseResult<R extends FormResponse>
     implements FormResponseResult<R> {
+  /** The results of the reasons that don't need more information, indexed by reason ordinal. */
+  private static final InvalidFormResponseResult<?>[] SHARED = createSharedResults();
+
   private final int componentIndex;
-  private final String errorMessage;
+  private final Reason reason;
+  private final Object argument;
+  private String errorMessage;
 
-  private InvalidFormResponseResult(int componentIndex, String errorMessage) {
+  private InvalidFormResponseResult(
+      int componentIndex, Reason reason, @Nullable Object argument, @Nullable String errorMessage) {
     this.componentIndex = componentIndex;
+    this.reason = reason;
+    this.argument = argument;
     this.errorMessage = errorMessage;
   }
 
   public static <R extends FormResponse> InvalidFormResponseResult<R> of(
       int componentIndex, String errorMessage) {
-    return new InvalidFormResponseResult<>(componentIndex, errorMessage);
+    return new InvalidFormResponseResult<>(componentIndex, Reason.OTHER, null, errorMessage);
+  }
+
+  /**
+   * Returns the shared result for the given reason, which has a component index of -1.
+   *
+   * @throws IllegalArgumentException if the message of the reason needs an argument
+   * @since 2.0
+   */
+  @SuppressWarnings("unchecked")
+  public static <R extends FormResponse> InvalidFormResponseResult<R> of(@NonNull Reason reason) {
+    InvalidFormResponseResult<?> result = SHARED[reason.ordinal()];
+    if (result == null) {
+      throw new IllegalArgumentException("Reason " + reason + " requires an argument");
+    }
+    return (InvalidFormResponseResult<R>) result;
+  }
+
+  /**
+   * Returns a result for the given reason. The error message is only created when it's requested.
+   *
+   * @param componentIndex the index of the invalid component, or -1
+   * @param reason the reason why the response is invalid
+   * @param argument the argument of the message of the reason, see {@link Reason}
+   * @since 2.0
+   */
+  public static <R extends FormResponse> InvalidFormResponseResult<R> of(
+      int componentIndex, @NonNull Reason reason, @Nullable Object argument) {
+    Objects.requireNonNull(reason, "reason");
+    if (componentIndex == -1 && argument == null && SHARED[reason.ordinal()] != null) {
+      return of(reason);
+    }
+    return new InvalidFormResponseResult<>(componentIndex, reason, argument, null);
+  }
+
+  private static InvalidFormResponseResult<?>[] createSharedResults() {
+    Reason[] reasons = Reason.values();
+    InvalidFormResponseResult<?>[] results = new InvalidFormResponseResult<?>[reasons.length];
+    for (Reason reason : reasons) {
+      if (!reason.takesArgument) {
+        results[reason.ordinal()] =
+            new InvalidFormResponseResult<>(-1, reason, null, reason.template);
+      }
+    }
+    return results;
   }
 
   @Override
@@ -56,8 +110,64 @@ public final class InvalidFormResponseResult<R extends FormResponse>
     return componentIndex;
   }
 
+  /**
+   * Returns the reason why the response is invalid.
+   *
+   * @since 2.0
+   */
+  public @NonNull Reason reason() {
+    return reason;
+  }
+
   /** Returns an additional message that should describe what went wrong. */
   public String errorMessage() {
-    return errorMessage;
+    String message = errorMessage;
+    // only the message of a result created with an explicit message can be null
+    if (message == null && reason != Reason.OTHER) {
+      message = reason.message(argument);
+      errorMessage = message;
+    }
+    return message;
+  }
+
+  /**
+   * The reasons why a response can be invalid.
+   *
+   * @since 2.0
+   */
+  public enum Reason {
+    /** A reason that doesn't fit the other reasons. The argument is the message. */
+    OTHER("%s"),
+    NOT_AN_ARRAY("Response should be a json array"),
+    MALFORMED_JSON("Response is not valid json"),
+    NOT_ENOUGH_COMPONENTS("Response doesn't contain enough components"),
+    TOO_MANY_ELEMENTS("Response contains too many elements"),
+    /** The argument is the name of the component type. */
+    NOT_A_PRIMITIVE("Return value of %s should be a json primitive"),
+    /** The value is not valid for the component. The argument is the message. */
+    INVALID_VALUE("%s"),
+    NOT_A_BOOLEAN("Response wasn't a boolean"),
+    INVALID_BUTTON_ID("Received invalid integer representing the clicked button"),
+    NEGATIVE_BUTTON_ID("Received a clicked button id that's smaller than 0"),
+    BUTTON_ID_TOO_LARGE("Receiver a button id larger than the amount of buttons in the form");
+
+    private final String template;
+    private final boolean takesArgument;
+
+    Reason(String template) {
+      this.template = template;
+      this.takesArgument = template.contains("%s");
+    }
+
+    /** Returns the message of this reason, with the given argument if it takes one. */
+    public @NonNull String message(@Nullable Object argument) {
+      if (!takesArgument) {
+        return template;
+      }
+      if ("%s".equals(template)) {
+        return String.valueOf(argument);
+      }
+      return String.format(template, argument);
+    }
   }
 }
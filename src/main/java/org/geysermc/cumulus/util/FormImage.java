@@ -30,6 +30,8 @@ import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.geysermc.cumulus.util.impl.FormImageImpl;
+import org.geysermc.cumulus.util.impl.InternPool;
+import org.geysermc.cumulus.util.impl.NameLookup;
 
 /**
  * Represents a form image which is used in buttons and as image for client settings. This class
@@ -45,7 +47,7 @@ public interface FormImage {
    * @return a FormImage holding the given data
    */
   static @NonNull FormImage of(@NonNull Type type, @NonNull String data) {
-    return new FormImageImpl(type, data);
+    return InternPool.intern(new FormImageImpl(type, data));
   }
 
   /**
@@ -79,18 +81,43 @@ public interface FormImage {
     @SerializedName("url")
     URL;
 
-    private static final Type[] VALUES = values();
-
     private final String name = name().toLowerCase(Locale.ROOT);
 
+    private static final NameLookup<Type> LOOKUP = new NameLookup<>(values(), Type::typeName);
+
     public static @Nullable Type fromName(@NonNull String name) {
       Objects.requireNonNull(name, "name");
-      for (Type value : VALUES) {
-        if (value.typeName().equals(name)) {
-          return value;
-        }
-      }
-      return null;
+      return LOOKUP.get(name);
+    }
+
+    /**
+     * Returns the type with the given name, where the name is the given range of the char sequence.
+     * This allows parsers to look up the type without creating a String first.
+     *
+     * @param name the char sequence containing the name
+     * @param start the index of the first character of the name
+     * @param end the index after the last character of the name
+     * @return the type with the given name, or null if there is none
+     * @since 2.0
+     */
+    public static @Nullable Type fromName(@NonNull CharSequence name, int start, int end) {
+      Objects.requireNonNull(name, "name");
+      return LOOKUP.get(name, start, end);
+    }
+
+    /**
+     * Returns the type with the given name, where the name is the given range of the UTF-8 (or
+     * ASCII) encoded bytes.
+     *
+     * @param name the bytes containing the name
+     * @param offset the index of the first byte of the name
+     * @param length the amount of bytes of the name
+     * @return the type with the given name, or null if there is none
+     * @since 2.0
+     */
+    public static @Nullable Type fromName(byte @NonNull [] name, int offset, int length) {
+      Objects.requireNonNull(name, "name");
+      return LOOKUP.get(name, offset, length);
     }
 
     public @NonNull String typeName() {
@@ -24,40 +24,71 @@
  */
 package org.geysermc.cumulus.util.impl;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import java.lang.reflect.Type;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import org.geysermc.cumulus.util.FormImage;
-import org.geysermc.cumulus.util.JsonUtils;
 
-public class FormImageAdaptor implements JsonDeserializer<FormImage>, JsonSerializer<FormImage> {
+public class FormImageAdaptor extends TypeAdapter<FormImage> {
   @Override
-  public FormImage deserialize(
-      JsonElement element, Type typeOfT, JsonDeserializationContext context)
-      throws JsonParseException {
+  public void write(JsonWriter out, FormImage image) throws IOException {
+    if (image == null) {
+      out.nullValue();
+      return;
+    }
+    writeImage(out, image);
+  }
 
-    if (!element.isJsonObject()) {
-      throw new JsonParseException("Form has to be a JsonObject");
+  @Override
+  public FormImage read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
     }
 
-    JsonObject json = element.getAsJsonObject();
+    String type = null;
+    String data = null;
+
+    in.beginObject();
+    while (in.hasNext()) {
+      switch (in.nextName()) {
+        case "type":
+          type = in.nextString();
+          break;
+        case "data":
+          data = in.nextString();
+          break;
+        default:
+          in.skipValue();
+      }
+    }
+    in.endObject();
 
-    JsonElement type = JsonUtils.assumeMember(json, "type");
-    JsonElement data = JsonUtils.assumeMember(json, "data");
+    if (type == null) {
+      throw missingMember("type");
+    }
+    if (data == null) {
+      throw missingMember("data");
+    }
+    try {
+      return FormImage.of(type, data);
+    } catch (IllegalArgumentException exception) {
+      throw new JsonParseException(exception.getMessage(), exception);
+    }
+  }
 
-    return FormImage.of(type.getAsString(), data.getAsString());
+  public static void writeImage(JsonWriter out, FormImage image) throws IOException {
+    out.beginObject();
+    out.name("type").value(image.type().typeName());
+    out.name("data").value(image.data());
+    out.endObject();
   }
 
-  @Override
-  public JsonElement serialize(FormImage src, Type typeOfSrc, JsonSerializationContext context) {
-    JsonObject json = new JsonObject();
-    json.addProperty("type", src.type().typeName());
-    json.addProperty("data", src.data());
-    return json;
+  private static JsonParseException missingMember(String memberName) {
+    return new JsonParseException(
+        "Expected to find a member named '" + memberName + "' in the JsonObject!");
   }
 }
@@ -46,4 +46,21 @@ public final class FormImageImpl implements FormImage {
   public @NonNull String data() {
     return data;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    FormImageImpl that = (FormImageImpl) o;
+    return type == that.type && data.equals(that.data);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * type.hashCode() + data.hashCode();
+  }
 }
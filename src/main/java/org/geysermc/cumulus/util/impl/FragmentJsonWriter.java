@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.util.impl;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A html safe JsonWriter that can also write arrays of which the elements have already been
+ * serialized, which allows reusing serialized components. The elements are written as-is, so they
+ * should've been serialized with the same settings as this writer.
+ */
+public final class FragmentJsonWriter extends JsonWriter {
+  private final Writer writer;
+  private int rawElementCount;
+
+  public FragmentJsonWriter(@NonNull Writer writer) {
+    super(writer);
+    this.writer = writer;
+    // match the output of Gson#toJson
+    setHtmlSafe(true);
+  }
+
+  /** Starts an array of which the elements are written using {@link #rawElement(String)}. */
+  public void beginRawArray() throws IOException {
+    beginArray();
+    rawElementCount = 0;
+  }
+
+  /** Writes an already serialized element of the array started by {@link #beginRawArray()}. */
+  public void rawElement(@NonNull String json) throws IOException {
+    // the JsonWriter doesn't know about these elements, so we have to add the separators ourselves
+    if (rawElementCount++ > 0) {
+      writer.write(',');
+    }
+    writer.write(json);
+  }
+
+  /** Ends the array started by {@link #beginRawArray()}. */
+  public void endRawArray() throws IOException {
+    // the JsonWriter still thinks the array is empty, which makes it close it without a separator
+    endArray();
+  }
+}
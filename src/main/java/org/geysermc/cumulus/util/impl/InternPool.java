@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.util.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A canonicalizing cache for immutable components and images, so that equal instances created by
+ * their factories can share a single instance. The pool only holds weak references to the
+ * instances and doesn't admit new instances while it holds max size instances, although
+ * concurrent interning can briefly exceed it. The entries of collected instances are removed, which
+ * makes room for new instances again. Interning is disabled until {@link #enable(int)} is called.
+ */
+public final class InternPool {
+  private static volatile InternPool instance;
+
+  private final ConcurrentMap<WeakKey, WeakKey> pool = new ConcurrentHashMap<>();
+  private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+  private final int maxSize;
+
+  private InternPool(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public static void enable(int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize has to be positive");
+    }
+    instance = new InternPool(maxSize);
+  }
+
+  public static void disable() {
+    instance = null;
+  }
+
+  public static boolean enabled() {
+    return instance != null;
+  }
+
+  /**
+   * Returns the pooled instance that is equal to the given value, or the given value itself when
+   * there is none or when interning is disabled.
+   */
+  public static <T> @NonNull T intern(@NonNull T value) {
+    InternPool pool = instance;
+    return pool != null ? pool.get(value) : value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T get(T value) {
+    removeCollected();
+
+    WeakKey existing = pool.get(new WeakKey(value, null));
+    Object canonical = existing != null ? existing.get() : null;
+    if (canonical != null) {
+      return (T) canonical;
+    }
+
+    if (pool.size() >= maxSize) {
+      return value;
+    }
+
+    WeakKey key = new WeakKey(value, collected);
+    existing = pool.putIfAbsent(key, key);
+    canonical = existing != null ? existing.get() : null;
+    return canonical != null ? (T) canonical : value;
+  }
+
+  private void removeCollected() {
+    Reference<?> reference;
+    while ((reference = collected.poll()) != null) {
+      pool.remove(reference);
+    }
+  }
+
+  /**
+   * A weak reference that is equal to another weak reference when their referents are equal. Once
+   * the referent has been collected it's only equal to itself, so it can still be removed.
+   */
+  private static final class WeakKey extends WeakReference<Object> {
+    private final int hash;
+
+    WeakKey(@NonNull Object referent, @Nullable ReferenceQueue<Object> queue) {
+      super(referent, queue);
+      this.hash = referent.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof WeakKey)) {
+        return false;
+      }
+      Object referent = get();
+      return referent != null && referent.equals(((WeakKey) o).get());
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.util.impl;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Looks up constants by their name, where the name can also be a range of a char sequence or of
+ * UTF-8 (or ASCII) encoded bytes. This allows parsers to look up constants without creating a
+ * String first. The constants are grouped by the length of their name, so only names of that length
+ * are compared.
+ *
+ * @param <E> the type of the constants
+ */
+public final class NameLookup<E> {
+  private static final String[] NONE = new String[0];
+
+  private final String[][] namesByLength;
+  private final Object[][] valuesByLength;
+
+  public NameLookup(E @NonNull [] values, @NonNull Function<E, String> nameFunction) {
+    int maxLength = 0;
+    for (E value : values) {
+      maxLength = Math.max(maxLength, nameFunction.apply(value).length());
+    }
+
+    namesByLength = new String[maxLength + 1][];
+    valuesByLength = new Object[maxLength + 1][];
+    Arrays.fill(namesByLength, NONE);
+    Arrays.fill(valuesByLength, new Object[0]);
+    for (E value : values) {
+      String name = nameFunction.apply(value);
+      int length = name.length();
+      int index = namesByLength[length].length;
+
+      namesByLength[length] = Arrays.copyOf(namesByLength[length], index + 1);
+      namesByLength[length][index] = name;
+      valuesByLength[length] = Arrays.copyOf(valuesByLength[length], index + 1);
+      valuesByLength[length][index] = value;
+    }
+  }
+
+  /** Returns the constant with the given name, or null if there is none. */
+  public @Nullable E get(@NonNull String name) {
+    String[] names = names(name.length());
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return value(name.length(), i);
+      }
+    }
+    return null;
+  }
+
+  /** Returns the constant of which the name is the given range of the char sequence. */
+  public @Nullable E get(@NonNull CharSequence name, int start, int end) {
+    String[] names = names(end - start);
+    candidates:
+    for (int i = 0; i < names.length; i++) {
+      String candidate = names[i];
+      for (int j = 0; j < candidate.length(); j++) {
+        if (name.charAt(start + j) != candidate.charAt(j)) {
+          continue candidates;
+        }
+      }
+      return value(end - start, i);
+    }
+    return null;
+  }
+
+  /** Returns the constant of which the name is the given range of the encoded bytes. */
+  public @Nullable E get(byte @NonNull [] name, int offset, int length) {
+    String[] names = names(length);
+    candidates:
+    for (int i = 0; i < names.length; i++) {
+      String candidate = names[i];
+      for (int j = 0; j < length; j++) {
+        if ((name[offset + j] & 0xFF) != candidate.charAt(j)) {
+          continue candidates;
+        }
+      }
+      return value(length, i);
+    }
+    return null;
+  }
+
+  private String[] names(int length) {
+    return length >= 0 && length < namesByLength.length ? namesByLength[length] : NONE;
+  }
+
+  @SuppressWarnings("unchecked")
+  private E value(int length, int index) {
+    return (E) valuesByLength[length][index];
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024 GeyserMC
+ * Licensed under the MIT license
+ * @link https://github.com/GeyserMC/Cumulus
+ */
+package org.geysermc.cumulus.util.impl;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * An unmodifiable list that is equal to another list except for a single element. This allows
+ * forms to be derived from other forms without copying their component lists. Once too many of
+ * these views are stacked on top of each other the list is copied instead, so lookups stay cheap.
+ */
+public final class ReplacedElementList<E> extends AbstractList<E> implements RandomAccess {
+  private static final int MAX_DEPTH = 8;
+
+  private final List<E> base;
+  private final int index;
+  private final E element;
+  private final int depth;
+
+  private ReplacedElementList(List<E> base, int index, E element, int depth) {
+    this.base = base;
+    this.index = index;
+    this.element = element;
+    this.depth = depth;
+  }
+
+  /**
+   * Returns an unmodifiable list that contains the elements of the given list, with the element at
+   * the given index replaced by the given element.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public static <E> @NonNull List<E> of(@NonNull List<E> base, int index, E element) {
+    if (index < 0 || index >= base.size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + base.size());
+    }
+
+    int depth = base instanceof ReplacedElementList ? ((ReplacedElementList<E>) base).depth + 1 : 1;
+    if (depth > MAX_DEPTH) {
+      List<E> copy = new ArrayList<>(base);
+      copy.set(index, element);
+      return Collections.unmodifiableList(copy);
+    }
+    return new ReplacedElementList<>(base, index, element, depth);
+  }
+
+  @Override
+  public E get(int index) {
+    if (index == this.index) {
+      return element;
+    }
+    return base.get(index);
+  }
+
+  @Override
+  public int size() {
+    return base.size();
+  }
+}